@@ -2,36 +2,85 @@ package com.lanevok;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.DecimalFormat;
 import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.InputMismatchException;
+import java.util.IntSummaryStatistics;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 /**
  * KoikeLibrary．
@@ -41,7 +90,7 @@ import java.util.TreeMap;
  * </p>
  * @author T.Koike
  * @since 1.0
- * @version 1.1
+ * @version 1.2
  *
  */
 public class KoikeLibrary {
@@ -53,12 +102,16 @@ public class KoikeLibrary {
 	/**
 	 * MyBufferedReader．
 	 * <p>
-	 * BufferedReaderの拡張版．
+	 * BufferedReaderの拡張版．<br>
+	 * 1.2よりgzip圧縮されたファイルも透過的に読み込めます．
 	 * </p>
 	 * @author T.Koike
 	 * @since 1.0
 	 */
-	public static class MyBufferedReader extends BufferedReader{
+	public static class MyBufferedReader extends BufferedReader implements Iterable<String>{
+
+		/** メモリマップモード時の内部Reader */
+		private final MappedLineReader mapped;
 
 		/**
 		 * 指定されたファイルパスでMyBufferedReaderを発行する．
@@ -66,7 +119,38 @@ public class KoikeLibrary {
 		 * @param path ファイルパス
 		 */
 		public MyBufferedReader(String path){
-			super(KoikeLibrary.getReader(path));
+			this(KoikeLibrary.getReader(path));
+		}
+
+		/**
+		 * 指定されたファイルパスと読込みモードでMyBufferedReaderを発行する．
+		 * @since 1.2
+		 * @param path ファイルパス
+		 * @param mode 読込みモード
+		 */
+		public MyBufferedReader(String path, ReaderMode mode){
+			this(KoikeLibrary.getReader(path, mode));
+		}
+
+		/**
+		 * 内部Readerを指定してMyBufferedReaderを発行する．
+		 * @since 1.2
+		 * @param in 内部Reader
+		 */
+		private MyBufferedReader(Reader in){
+			super(in);
+			mapped = (in instanceof MappedLineReader) ? (MappedLineReader)in : null;
+		}
+
+		/**
+		 * 読込みモードに応じて一行読み込む．
+		 * @since 1.2
+		 * @return 読み込んだ一行のString文字列
+		 * @throws IOException
+		 */
+		private String readLineInternal() throws IOException {
+			if(mapped!=null) return mapped.readLine();
+			return super.readLine();
 		}
 
 		/**
@@ -81,7 +165,7 @@ public class KoikeLibrary {
 		@Override
 		public String readLine(){
 			try {
-				return super.readLine();
+				return readLineInternal();
 			} catch (IOException e) {
 				System.err.println("読み込みでエラーが発生しました．");
 				e.printStackTrace();
@@ -100,7 +184,7 @@ public class KoikeLibrary {
 		 */
 		public Integer readLineInt(){
 			try {
-				return Integer.valueOf(super.readLine());
+				return Integer.valueOf(readLineInternal());
 			} catch (IOException e) {
 				System.err.println("読み込みでエラーが発生しました．");
 				e.printStackTrace();
@@ -119,7 +203,7 @@ public class KoikeLibrary {
 		 */
 		public Double readLineDouble(){
 			try {
-				return Double.valueOf(super.readLine());
+				return Double.valueOf(KoikeLibrary.parseDouble(readLineInternal()));
 			} catch (IOException e) {
 				System.err.println("読み込みでエラーが発生しました．");
 				e.printStackTrace();
@@ -165,6 +249,62 @@ public class KoikeLibrary {
 			return readLine().split(delimiter);
 		}
 
+		/**
+		 * 行を遅延して読み込むIteratorを取得する．
+		 * <p>
+		 * 拡張for文で一行ずつ読み込むことができます．<br>
+		 * 終端まで読み込むと自動的にクローズされます．<br>
+		 * 途中で打ち切る場合はcloseを呼び出してください．
+		 * </p>
+		 * @since 1.2
+		 * @return 行のIterator
+		 */
+		@Override
+		public Iterator<String> iterator(){
+			return new Iterator<String>(){
+				private String next;
+				private boolean finished;
+
+				@Override
+				public boolean hasNext(){
+					if(next==null && !finished){
+						next = readLine();
+						if(next==null){
+							finished = true;
+							close();
+						}
+					}
+					return next!=null;
+				}
+
+				@Override
+				public String next(){
+					if(!hasNext()) throw new NoSuchElementException();
+					String line = next;
+					next = null;
+					return line;
+				}
+			};
+		}
+
+		/**
+		 * 行を遅延して読み込むStreamを取得する．
+		 * <p>
+		 * 終端まで読み込むと自動的にクローズされます．<br>
+		 * findFirstなどで途中で打ち切る場合は，try-with-resources文などでStreamをクローズしてください．
+		 * </p>
+		 * @since 1.2
+		 * @return 行のStream
+		 */
+		public Stream<String> stream(){
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+					Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(new Runnable(){
+				public void run(){
+					close();
+				}
+			});
+		}
+
 		/**
 		 * クローズする．
 		 * <p>
@@ -195,929 +335,7135 @@ public class KoikeLibrary {
 	 * @return Reader
 	 */
 	private static Reader getReader(String path){
+		return getReader(path, Charset.defaultCharset(), ReaderMode.STANDARD);
+	}
+
+	/**
+	 * ファイルを開き，InputStreamを取得する．
+	 * <p>
+	 * gzip圧縮されたファイルは先頭のマジックナンバーで判定され，透過的に展開されます．<br>
+	 * 展開は別スレッドで行われ，展開済みのブロックが有限長のキューで読込み側へ受け渡されます．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @return InputStream
+	 * @throws IOException
+	 */
+	private static InputStream openInputStream(String path) throws IOException {
+		FileInputStream in = new FileInputStream(path);
+		try {
+			return openInputStream(in);
+		} catch (IOException e) {
+			closeQuietly(in);
+			throw e;
+		}
+	}
+
+	/**
+	 * 開いたファイルのInputStreamを，gzip圧縮されていれば展開するInputStreamにする．
+	 * @since 1.2
+	 * @param in 先頭位置のファイルのInputStream
+	 * @return InputStream
+	 * @throws IOException
+	 */
+	private static InputStream openInputStream(FileInputStream in) throws IOException {
+		if(!isGzip(in.getChannel())) return in;
+		return new ReadAheadInputStream(new GZIPInputStream(in, 1 << 16),
+				ReadAheadInputStream.BLOCK_SIZE, ReadAheadInputStream.BLOCKS);
+	}
+
+	/**
+	 * 開いたファイルがgzip圧縮されているか判定する．
+	 * <p>
+	 * 位置を指定して先頭2バイトを読むため，チャネルの現在位置は変わりません．
+	 * </p>
+	 * @since 1.2
+	 * @param channel ファイルのチャネル
+	 * @return 先頭がgzipのマジックナンバーであるかどうか
+	 * @throws IOException
+	 */
+	private static boolean isGzip(FileChannel channel) throws IOException {
+		ByteBuffer magic = ByteBuffer.allocate(2);
+		while(magic.hasRemaining() && channel.read(magic, magic.position())>0);
+		return magic.position()==2 && (magic.get(0) & 0xFF)==(GZIPInputStream.GZIP_MAGIC & 0xFF)
+				&& (magic.get(1) & 0xFF)==(GZIPInputStream.GZIP_MAGIC >>> 8);
+	}
+
+	/**
+	 * MyBufferedReaderの内部Readerを読込みモードに応じて作成する．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param mode 読込みモード
+	 * @return Reader
+	 */
+	private static Reader getReader(String path, ReaderMode mode){
+		return getReader(path, Charset.defaultCharset(), mode);
+	}
+
+	/**
+	 * 文字コードと読込みモードを指定して内部Readerを作成する．
+	 * <p>
+	 * gzip圧縮されたファイルは透過的に展開されます．<br>
+	 * その場合，メモリマップモードは使用できないため，展開スレッドからの読込みになります．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param charset 文字コード
+	 * @param mode 読込みモード
+	 * @return Reader
+	 */
+	private static Reader getReader(String path, Charset charset, ReaderMode mode){
 		try {
-			return new InputStreamReader(new FileInputStream(path));
+			switch(mode){
+			case MAPPED:{
+				FileInputStream in = new FileInputStream(path);
+				try {
+					if(!isGzip(in.getChannel())) return getMappedReader(in.getChannel(), charset);
+					return new InputStreamReader(openInputStream(in), charset);
+				} catch (IOException e) {
+					closeQuietly(in);
+					throw e;
+				}
+			}
+			case READ_AHEAD:
+				return getReadAheadReader(path, charset);
+			default:
+				return new InputStreamReader(openInputStream(path), charset);
+			}
 		} catch (FileNotFoundException e) {
 			System.err.println("指定されたファイルが見つかりませんでした．");
 			e.printStackTrace();
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
 		}
 		return null;
 	}
 
 	/**
-	 * 指定されたファイルパスと文字コードでBufferedReaderを発行する．
+	 * 先読みモードの内部Readerを作成する．
 	 * <p>
 	 * try-catchを行います．<br>
 	 * そのため例外はスローされません．
 	 * </p>
-	 * @since 1.0
+	 * @since 1.2
 	 * @param path ファイルパス
-	 * @param code 文字コード
-	 * @return BufferedReader
+	 * @param charset 文字コード
+	 * @return Reader
 	 */
-	public static BufferedReader createReader(String path, String code) {
+	private static Reader getReadAheadReader(String path, Charset charset){
 		try {
-			return new BufferedReader(new InputStreamReader(new FileInputStream(path),code));
+			InputStream in = openInputStream(path);
+			if(!(in instanceof ReadAheadInputStream)){
+				in = new ReadAheadInputStream(in, ReadAheadInputStream.BLOCK_SIZE, ReadAheadInputStream.BLOCKS);
+			}
+			return new InputStreamReader(in, charset);
 		} catch (FileNotFoundException e) {
 			System.err.println("指定されたファイルが見つかりませんでした．");
 			e.printStackTrace();
-		} catch (UnsupportedEncodingException e) {
-			System.err.println("指定された文字コードが適切ではありません．");
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
 			e.printStackTrace();
 		}
 		return null;
 	}
 
 	/**
-	 * 指定されたファイルパスでBufferedReaderを発行する．
+	 * メモリマップモードの内部Readerを作成する．
 	 * <p>
 	 * try-catchを行います．<br>
 	 * そのため例外はスローされません．
 	 * </p>
-	 * @since 1.0
+	 * @since 1.2
 	 * @param path ファイルパス
-	 * @return BufferedReader
+	 * @return Reader
 	 */
-	public static BufferedReader createReader(String path) {
+	private static Reader getMappedReader(String path){
+		return getMappedReader(path, Charset.defaultCharset());
+	}
+
+	/**
+	 * 文字コードを指定してメモリマップモードの内部Readerを作成する．
+	 * <p>
+	 * gzip圧縮されたファイルはマップできないため，エラーになります．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param charset 文字コード
+	 * @return Reader
+	 */
+	private static Reader getMappedReader(String path, Charset charset){
+		FileChannel channel = null;
 		try {
-			return new BufferedReader(new InputStreamReader(new FileInputStream(path)));
+			channel = new FileInputStream(path).getChannel();
+			if(isGzip(channel)){
+				System.err.println("gzip圧縮されたファイルはマップできません．");
+				closeQuietly(channel);
+				return null;
+			}
+			return getMappedReader(channel, charset);
 		} catch (FileNotFoundException e) {
 			System.err.println("指定されたファイルが見つかりませんでした．");
 			e.printStackTrace();
+		} catch (IOException e) {
+			System.err.println("ファイルをマップできませんでした．");
+			e.printStackTrace();
+			closeQuietly(channel);
 		}
 		return null;
 	}
 
-	/*――――――――――――――――――――――――――――――
-	 * 出力
-	 * ――――――――――――――――――――――――――――――*/
+	/**
+	 * 開いたチャネルからメモリマップモードの内部Readerを作成する．
+	 * @since 1.2
+	 * @param channel ファイルのチャネル(Readerのクローズ時にクローズされる)
+	 * @param charset 文字コード
+	 * @return Reader
+	 * @throws IOException
+	 */
+	private static Reader getMappedReader(FileChannel channel, Charset charset) throws IOException {
+		return new MappedLineReader(channel, 0, channel.size(), charset);
+	}
 
 	/**
-	 * MyBufferedWriter．
-	 * <p>
-	 * BufferedWriterの拡張版．
-	 * </p>
-	 * @author T.Koike
-	 * @since 1.0
+	 * クローズ時の例外を無視してクローズする．
+	 * @since 1.2
+	 * @param c クローズ対象(nullの場合は何もしない)
 	 */
-	public static class MyBufferedWriter extends BufferedWriter{
+	private static void closeQuietly(Closeable c){
+		if(c==null) return;
+		try {
+			c.close();
+		} catch (IOException e) {
+			// クローズの失敗は無視する
+		}
+	}
 
+	/**
+	 * MyBufferedReaderの読込みモード．
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static enum ReaderMode {
+		/** InputStreamReaderによる通常の読込み */
+		STANDARD,
 		/**
-		 * 指定されたファイルパスでMyBufferedWriterを発行する．
+		 * メモリマップドファイルによる読込み．
 		 * <p>
-		 * try-catchを行います．<br>
-		 * そのため例外はスローされません．
+		 * 改行をバイト列上で直接走査するため，巨大なファイルの行読込みが高速になります．<br>
+		 * 文字コードはASCII互換(UTF-8，Shift_JIS，EUC-JPなど)である必要があります．
 		 * </p>
-		 * @param path ファイルパス
 		 */
-		public MyBufferedWriter(String path){
-			super(KoikeLibrary.getWriter(path,false));
-		}
-
+		MAPPED,
 		/**
-		 * 指定されたファイルパスでMyBufferedWriterを発行する．
-		 * @since 1.0
-		 * @param path ファイルパス
-		 * @param append 上書きフラグ
+		 * バックグラウンドスレッドによる先読み．
+		 * <p>
+		 * 次のブロックを別スレッドで先読みするため，ネットワーク上のストレージなどで
+		 * 読込み待ちと行の処理が重なり合うようになります．
+		 * </p>
 		 */
-		public MyBufferedWriter(String path, boolean append){
-			super(KoikeLibrary.getWriter(path, append));
-		}
+		READ_AHEAD
+	}
+
+	/**
+	 * バックグラウンドスレッドで先読みを行うInputStream．
+	 * <p>
+	 * 固定数の再利用可能なブロックを用意し，読込みスレッドが空きブロックへ読み込んだものを
+	 * 有限長のキューで消費側へ受け渡します．<br>
+	 * 消費側が読み終えたブロックは空きブロックとして読込みスレッドへ返されます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	private static class ReadAheadInputStream extends InputStream {
+
+		/** 既定のブロックの大きさ */
+		static final int BLOCK_SIZE = 1 << 20;
+		/** 既定のブロック数 */
+		static final int BLOCKS = 4;
 
 		/**
-		 * 文字列を書き込む．
-		 * <p>
-		 * try-catchを行います．<br>
-		 * そのため例外はスローされません．
-		 * </p>
-		 * @since 1.0
-		 * @param str 書き込む文字列
+		 * 読込み済みブロック．
+		 * @since 1.2
 		 */
-		@Override
-		public void write(String str){
-			try {
-				super.write(str);
-			} catch (IOException e) {
-				System.err.println("書き込めませんでした．");
-				e.printStackTrace();
+		private static class Block {
+			final byte[] data;
+			int length;
+			IOException error;
+
+			Block(int size){
+				data = new byte[size];
 			}
 		}
 
+		private final InputStream source;
+		private final BlockingQueue<Block> free;
+		private final BlockingQueue<Block> filled;
+		private final Thread worker;
+		private Block current;
+		private int pos;
+		private boolean eof;
+		private volatile boolean closed;
+
 		/**
-		 * Objectを書き込む．
-		 * <p>
-		 * try-catchを行います．<br>
-		 * そのため例外はスローされません．
-		 * </p>
-		 * @since 1.1
-		 * @param o 書き込むObject
+		 * 先読みを開始する．
+		 * @since 1.2
+		 * @param source 読込み元
+		 * @param blockSize ブロックの大きさ
+		 * @param blocks ブロック数
 		 */
-		public void write(Object o){
-			write(o.toString());
+		ReadAheadInputStream(InputStream source, int blockSize, int blocks){
+			this.source = source;
+			this.free = new ArrayBlockingQueue<Block>(blocks);
+			this.filled = new ArrayBlockingQueue<Block>(blocks);
+			for(int i=0;i<blocks;i++) free.add(new Block(blockSize));
+			this.worker = new Thread(new Runnable(){
+				public void run(){
+					readAhead();
+				}
+			}, "KoikeLibrary-ReadAhead");
+			this.worker.setDaemon(true);
+			this.worker.start();
 		}
 
 		/**
-		 * 改行文字を書込む．
+		 * 読込みスレッドの処理．
 		 * <p>
-		 * try-catchを行います．<br>
-		 * そのため例外はスローされません．
+		 * 終端またはエラーに達したら，lengthが負のブロックを最後に受け渡して終了します．
 		 * </p>
-		 * @since 1.0
+		 * @since 1.2
 		 */
-		@Override
-		public void newLine(){
+		private void readAhead(){
 			try {
-				super.newLine();
-			} catch (IOException e) {
-				System.err.println("書き込めませんでした．");
-				e.printStackTrace();
+				while(!closed){
+					Block block = free.take();
+					int length = 0;
+					try {
+						int n = 0;
+						while(length<block.data.length && (n=source.read(block.data, length, block.data.length-length))>=0){
+							length += n;
+						}
+						if(length>0){
+							block.length = length;
+							filled.put(block);
+							if(n>=0) continue;
+							block = free.take();
+						}
+						block.length = -1;
+					} catch (IOException e) {
+						block.length = -1;
+						block.error = e;
+					}
+					filled.put(block);
+					return;
+				}
+			} catch (InterruptedException e) {
+				// クローズされたため終了する
 			}
 		}
 
 		/**
-		 * 文字列を改行文字と共に書き込む．
-		 * @since 1.0
-		 * @param str 書き込む文字列
+		 * 次のブロックへ進む．
+		 * @since 1.2
+		 * @return 読み込めるブロックがあるかどうか
+		 * @throws IOException
 		 */
-		public void writeln(String str){
-			write(str);
-			newLine();
+		private boolean nextBlock() throws IOException {
+			if(eof) return false;
+			if(current!=null) free.offer(current);
+			current = null;
+			pos = 0;
+			Block block;
+			try {
+				block = filled.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+			if(block.length<0){
+				eof = true;
+				if(block.error!=null) throw block.error;
+				return false;
+			}
+			current = block;
+			return true;
 		}
 
-		/**
-		 * Objectを改行文字と共に書き込む．
-		 * @since 1.1
-		 * @param o 書き込むObject
-		 */
-		public void writeln(Object o){
-			write(o.toString());
-			newLine();
+		@Override
+		public int read() throws IOException {
+			if((current==null || pos>=current.length) && !nextBlock()) return -1;
+			return current.data[pos++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if(len==0) return 0;
+			if((current==null || pos>=current.length) && !nextBlock()) return -1;
+			int n = Math.min(len, current.length-pos);
+			System.arraycopy(current.data, pos, b, off, n);
+			pos += n;
+			return n;
+		}
+
+		@Override
+		public int available(){
+			return current==null ? 0 : current.length-pos;
 		}
 
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			worker.interrupt();
+			source.close();
+		}
+	}
+
+	/**
+	 * メモリマップドファイルによる行読込みReader．
+	 * <p>
+	 * FileChannelを窓単位でMappedByteBufferにマップし，改行をバイト列上で直接走査します．<br>
+	 * 窓を順にマップし直すため，2GBを超えるファイルにも対応します．<br>
+	 * 行末の判定はBufferedReader#readLine()と同じく，'\n'，'\r'，"\r\n"です．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	private static class MappedLineReader extends Reader {
+
+		/** 一度にマップする窓の大きさ */
+		static final int WINDOW_SIZE = 1 << 26;
+
+		private static final long ONES = 0x0101010101010101L;
+		private static final long HIGHS = 0x8080808080808080L;
+		private static final long LFS = 0x0A0A0A0A0A0A0A0AL;
+		private static final long CRS = 0x0D0D0D0D0D0D0D0DL;
+
+		private final FileChannel channel;
+		private final Charset charset;
+		private final long end;
+		private MappedByteBuffer window;
+		private long windowStart;
+		private int pos;
+		private int limit;
+		private boolean skipLF;
+		private Reader fallback;
+
+		/** 直前に読み込んだ行のバイト列 */
+		byte[] line = new byte[256];
+		/** 直前に読み込んだ行のバイト長 */
+		int lineLength;
+
 		/**
-		 * 文字列を書込み，その後フラッシュする．
-		 * @since 1.0
-		 * @param str 書き込む文字列
+		 * チャネルの指定範囲を読み込むMappedLineReaderを発行する．
+		 * @since 1.2
+		 * @param channel 読込み対象のチャネル
+		 * @param start 開始位置(バイト)
+		 * @param end 終了位置(バイト，この位置を含まない)
+		 * @param charset 文字コード
 		 */
-		public void writeFlush(String str){
-			write(str);
-			flush();
+		MappedLineReader(FileChannel channel, long start, long end, Charset charset){
+			this.channel = channel;
+			this.charset = charset;
+			this.end = end;
+			this.windowStart = start;
 		}
 
 		/**
-		 * Objectを書込み，その後フラッシュする．
-		 * @since 1.1
-		 * @param o 書き込むObject
+		 * 次の窓をマップする．
+		 * @since 1.2
+		 * @return 次の窓があるかどうか
+		 * @throws IOException
 		 */
-		public void writeFlush(Object o){
-			write(o.toString());
-			flush();
+		private boolean mapNext() throws IOException {
+			windowStart += limit;
+			pos = 0;
+			limit = 0;
+			if(windowStart>=end) return false;
+			limit = (int)Math.min(WINDOW_SIZE, end-windowStart);
+			window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, limit);
+			window.order(ByteOrder.LITTLE_ENDIAN);
+			return true;
 		}
 
 		/**
-		 * 文字列を改行文字と共に書込み，その後フラッシュする．
-		 * @since 1.0
-		 * @param str 書き込む文字
+		 * 窓内で次の'\n'または'\r'の位置を探す．
+		 * <p>
+		 * 8バイト単位でまとめて判定します．
+		 * </p>
+		 * @since 1.2
+		 * @param from 探索開始位置
+		 * @return 見つかった位置，見つからなければ-1
 		 */
-		public void writelnFlush(String str){
-			write(str);
-			newLine();
-			flush();
+		private int indexOfEol(int from){
+			int i = from;
+			for(; i+8<=limit; i+=8){
+				long word = window.getLong(i);
+				long lf = word ^ LFS;
+				long cr = word ^ CRS;
+				long hit = (((lf-ONES) & ~lf) | ((cr-ONES) & ~cr)) & HIGHS;
+				if(hit!=0) return i + (Long.numberOfTrailingZeros(hit)>>>3);
+			}
+			for(; i<limit; i++){
+				byte b = window.get(i);
+				if(b=='\n' || b=='\r') return i;
+			}
+			return -1;
 		}
 
 		/**
-		 * Objectを改行文字と共に書込み，その後フラッシュする．
-		 * @since 1.1
-		 * @param o 書き込むObject
+		 * 窓の指定範囲を行バッファの末尾へ追加する．
+		 * @since 1.2
+		 * @param length 現在の行バッファ長
+		 * @param from 開始位置
+		 * @param to 終了位置
+		 * @return 追加後の行バッファ長
 		 */
-		public void writelnFlush(Object o){
-			write(o.toString());
-			newLine();
-			flush();
+		private int append(int length, int from, int to){
+			int n = to-from;
+			if(n==0) return length;
+			if(length+n>line.length) line = Arrays.copyOf(line, Math.max(line.length*2, length+n));
+			window.position(from);
+			window.get(line, length, n);
+			return length+n;
 		}
 
 		/**
-		 * フラッシュする．
+		 * 次の一行をバイト列のまま行バッファへ読み込む．
 		 * <p>
-		 * バッファの内容が明示的に書込み指示できます．<br>
-		 * try-catchを行います．<br>
-		 * そのため例外はスローされません．
+		 * 読み込んだ行は{@link #line}の先頭から{@link #lineLength}バイトです．<br>
+		 * 行末文字は含みません．
 		 * </p>
-		 * @since 1.0
+		 * @since 1.2
+		 * @return 行を読み込めたかどうか
+		 * @throws IOException
 		 */
-		@Override
-		public void flush(){
-			try {
-				super.flush();
-			} catch (IOException e) {
-				System.err.println("フラッシュできませんでした．");
-				e.printStackTrace();
+		boolean nextLine() throws IOException {
+			int length = 0;
+			boolean terminated = false;
+			while(pos<limit || mapNext()){
+				if(skipLF){
+					skipLF = false;
+					if(window.get(pos)=='\n'){
+						pos++;
+						continue;
+					}
+				}
+				int eol = indexOfEol(pos);
+				if(eol<0){
+					length = append(length, pos, limit);
+					pos = limit;
+					continue;
+				}
+				length = append(length, pos, eol);
+				skipLF = window.get(eol)=='\r';
+				pos = eol+1;
+				terminated = true;
+				break;
 			}
+			lineLength = length;
+			return terminated || length>0;
 		}
 
 		/**
-		 * クローズします．
+		 * 一行読み込む．
+		 * @since 1.2
+		 * @return 読み込んだ一行のString文字列，終端ではnull
+		 * @throws IOException
+		 */
+		String readLine() throws IOException {
+			if(!nextLine()) return null;
+			return new String(line, 0, lineLength, charset);
+		}
+
+		/**
+		 * 文字単位で読み込む．
 		 * <p>
-		 * try-catchを行います．<br>
-		 * そのため例外はスローされません．
+		 * 現在位置からの通常のデコードにフォールバックします．<br>
+		 * 行単位の読込みと混在させないでください．
 		 * </p>
-		 * @since 1.0
+		 * @since 1.2
 		 */
 		@Override
-		public void close(){
-			try {
-				super.close();
-			} catch (IOException e) {
-				System.err.println("ファイルをクローズできませんでした．");
-				e.printStackTrace();
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			if(fallback==null){
+				long position = windowStart+pos;
+				if(skipLF && position<end){
+					ByteBuffer one = ByteBuffer.allocate(1);
+					if(channel.read(one, position)==1 && one.get(0)=='\n') position++;
+				}
+				skipLF = false;
+				channel.position(position);
+				fallback = Channels.newReader(channel, charset.newDecoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE), -1);
 			}
+			return fallback.read(cbuf, off, len);
+		}
+
+		/**
+		 * クローズする．
+		 * @since 1.2
+		 */
+		@Override
+		public void close() throws IOException {
+			window = null;
+			channel.close();
 		}
 	}
 
 	/**
-	 * MyBufferedWriterの内部Writerを作成する．
+	 * 指定されたファイルパスの行を遅延して読み込むStreamを取得する．
 	 * <p>
-	 * try-catchを行います．<br>
-	 * そのため例外はスローされません．
+	 * ファイル全体をメモリに読み込まないため，ファイルの大きさによらず使用メモリは一定です．<br>
+	 * 終端まで読み込むと自動的にクローズされます．
 	 * </p>
-	 * @since 1.0
+	 * @since 1.2
 	 * @param path ファイルパス
-	 * @return Writer
+	 * @return 行のStream
+	 * @see MyBufferedReader#stream()
 	 */
-	private static Writer getWriter(String path, boolean append){
-		try {
-			return new OutputStreamWriter(new FileOutputStream(path,append));
-		} catch (FileNotFoundException e) {
-			System.err.println("指定されたパスへ書込み準備ができませんでした．");
-			e.printStackTrace();
-		}
-		return null;
+	public static Stream<String> getLineStream(String path){
+		return new MyBufferedReader(path).stream();
 	}
 
 	/**
-	 * System.out の出力先をファイルパスにする．
-	 * <p>
-	 * try-catchを行います．<br>
-	 * そのため例外はスローされません．
-	 * </p>
-	 * @since 1.0
+	 * 指定されたファイルパスと読込みモードで，行を遅延して読み込むStreamを取得する．
+	 * @since 1.2
 	 * @param path ファイルパス
+	 * @param mode 読込みモード
+	 * @return 行のStream
+	 * @see MyBufferedReader#stream()
 	 */
-	public static void setSystemOut(String path){
-		try {
-			System.setOut(new PrintStream(new File(path)));
-		} catch (FileNotFoundException e) {
-			System.err.println("指定されたパスにファイルが作成できません．");
-			e.printStackTrace();
-		}
+	public static Stream<String> getLineStream(String path, ReaderMode mode){
+		return new MyBufferedReader(path, mode).stream();
 	}
 
 	/**
-	 * System.err の出力先をファイルパスにする．
+	 * 区切り文字で区切られたファイルの指定列をint型配列で取得する．
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param delimiter 区切り文字(ASCII文字)
+	 * @param index 取得する列番号
+	 * @return int型配列，失敗時はnull
+	 * @see #readIntColumns(String, char, int...)
+	 */
+	public static int[] readIntColumn(String path, char delimiter, int index){
+		int[][] columns = readIntColumns(path, delimiter, index);
+		return columns==null ? null : columns[0];
+	}
+
+	/**
+	 * 区切り文字で区切られたファイルの複数の列をint型配列で取得する．
 	 * <p>
-	 * try-catchを行います．<br>
-	 * そのため例外はスローされません．
+	 * readAllLineとgetListIntegerFromStringの組み合わせと同じ値を，
+	 * ファイルを一度だけ読み，行の文字列や分割後の配列を作らずにバイト列から直接変換して取得します．<br>
+	 * ファイルはメモリマップドファイルで読み込まれます．<br>
+	 * IOExceptionについてtry-catchを行います．<br>
+	 * 変換できない値があった場合はNumberFormatExceptionが，
+	 * 列が足りない行があった場合はArrayIndexOutOfBoundsExceptionがスローされます．
 	 * </p>
-	 * @since 1.0
+	 * @since 1.2
 	 * @param path ファイルパス
+	 * @param delimiter 区切り文字(ASCII文字)
+	 * @param indexes 取得する列番号
+	 * @return 指定した列順のint型配列，失敗時はnull
 	 */
-	public static void setSystemErr(String path){
+	public static int[][] readIntColumns(String path, char delimiter, int... indexes){
+		ColumnCursor cursor = ColumnCursor.open(path, delimiter, indexes);
+		if(cursor==null) return null;
 		try {
-			System.setErr(new PrintStream(new File(path)));
-		} catch (FileNotFoundException e) {
-			System.err.println("指定されたパスにファイルが作成できません．");
+			int[][] columns = new int[indexes.length][1024];
+			int capacity = 1024;
+			int size = 0;
+			while(cursor.next()){
+				if(size==capacity){
+					capacity *= 2;
+					for(int c=0;c<columns.length;c++) columns[c] = Arrays.copyOf(columns[c], capacity);
+				}
+				for(int c=0;c<columns.length;c++){
+					columns[c][size] = NumberParser.parseInt(cursor.line(), cursor.start(c), cursor.end(c));
+				}
+				size++;
+			}
+			for(int c=0;c<columns.length;c++) columns[c] = Arrays.copyOf(columns[c], size);
+			return columns;
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
 			e.printStackTrace();
+		} finally {
+			cursor.close();
 		}
+		return null;
 	}
 
 	/**
-	 * 指定されたファイル名でBufferedWriterを発行する
-	 * @since 1.0
-	 * @param path パス名
-	 * @return BufferedWriter
-	 * @throws FileNotFoundException
+	 * 区切り文字で区切られたファイルの指定列をlong型配列で取得する．
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param delimiter 区切り文字(ASCII文字)
+	 * @param index 取得する列番号
+	 * @return long型配列，失敗時はnull
+	 * @see #readLongColumns(String, char, int...)
 	 */
-	public static BufferedWriter createWriter(String path) {
-		return createWriter(path, false);
+	public static long[] readLongColumn(String path, char delimiter, int index){
+		long[][] columns = readLongColumns(path, delimiter, index);
+		return columns==null ? null : columns[0];
 	}
 
 	/**
-	 * 指定されたファイル名でBufferedWriterを発行する
-	 * @since 1.0
-	 * @param path パス名
-	 * @param append 上書き許可 (=true)
-	 * @return BufferedWriter
+	 * 区切り文字で区切られたファイルの複数の列をlong型配列で取得する．
+	 * <p>
+	 * readAllLineとgetListLongFromStringの組み合わせと同じ値を，
+	 * ファイルを一度だけ読み，行の文字列や分割後の配列を作らずにバイト列から直接変換して取得します．<br>
+	 * ファイルはメモリマップドファイルで読み込まれます．<br>
+	 * IOExceptionについてtry-catchを行います．<br>
+	 * 変換できない値があった場合はNumberFormatExceptionが，
+	 * 列が足りない行があった場合はArrayIndexOutOfBoundsExceptionがスローされます．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param delimiter 区切り文字(ASCII文字)
+	 * @param indexes 取得する列番号
+	 * @return 指定した列順のlong型配列，失敗時はnull
 	 */
-	public static BufferedWriter createWriter(String path, boolean append) {
+	public static long[][] readLongColumns(String path, char delimiter, int... indexes){
+		ColumnCursor cursor = ColumnCursor.open(path, delimiter, indexes);
+		if(cursor==null) return null;
 		try {
-			return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path,append)));
-		} catch (FileNotFoundException e) {
-			System.err.println("指定されたパスにファイルが作成できません．");
+			long[][] columns = new long[indexes.length][1024];
+			int capacity = 1024;
+			int size = 0;
+			while(cursor.next()){
+				if(size==capacity){
+					capacity *= 2;
+					for(int c=0;c<columns.length;c++) columns[c] = Arrays.copyOf(columns[c], capacity);
+				}
+				for(int c=0;c<columns.length;c++){
+					columns[c][size] = NumberParser.parseLong(cursor.line(), cursor.start(c), cursor.end(c));
+				}
+				size++;
+			}
+			for(int c=0;c<columns.length;c++) columns[c] = Arrays.copyOf(columns[c], size);
+			return columns;
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
 			e.printStackTrace();
+		} finally {
+			cursor.close();
 		}
 		return null;
 	}
 
 	/**
-	 * 多次元配列までの内容を出力します．
-	 * @param obj 対象の配列
-	 * @since 1.0
+	 * 区切り文字で区切られたファイルの指定列をdouble型配列で取得する．
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param delimiter 区切り文字(ASCII文字)
+	 * @param index 取得する列番号
+	 * @return double型配列，失敗時はnull
+	 * @see #readDoubleColumns(String, char, int...)
 	 */
-	public static void debugArrays(Object... obj) {
-		System.out.println(Arrays.deepToString(obj));
+	public static double[] readDoubleColumn(String path, char delimiter, int index){
+		double[][] columns = readDoubleColumns(path, delimiter, index);
+		return columns==null ? null : columns[0];
 	}
 
 	/**
-	 * 2次元配列マップを出力します．
+	 * 区切り文字で区切られたファイルの複数の列をdouble型配列で取得する．
 	 * <p>
-	 * 下方向にi，横方向にjとして出力されます．
+	 * readAllLineとgetListDoubleFromStringの組み合わせと同じ値を，
+	 * ファイルを一度だけ読み，行の文字列や分割後の配列を作らずにバイト列から直接変換して取得します．<br>
+	 * ファイルはメモリマップドファイルで読み込まれます．<br>
+	 * IOExceptionについてtry-catchを行います．<br>
+	 * 変換できない値があった場合はNumberFormatExceptionが，
+	 * 列が足りない行があった場合はArrayIndexOutOfBoundsExceptionがスローされます．
 	 * </p>
-	 * @param map 出力対象2次元配列
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param delimiter 区切り文字(ASCII文字)
+	 * @param indexes 取得する列番号
+	 * @return 指定した列順のdouble型配列，失敗時はnull
 	 */
-	public static void printMaping(int[][] map) {
-		System.out.println("-------- map display ---------");
-		for (int i = 0; i < map.length; i++) {
-			for (int j = 0; j < map[i].length; j++) {
-				System.out.printf("%3d ", map[i][j]);
+	public static double[][] readDoubleColumns(String path, char delimiter, int... indexes){
+		ColumnCursor cursor = ColumnCursor.open(path, delimiter, indexes);
+		if(cursor==null) return null;
+		try {
+			double[][] columns = new double[indexes.length][1024];
+			int capacity = 1024;
+			int size = 0;
+			while(cursor.next()){
+				if(size==capacity){
+					capacity *= 2;
+					for(int c=0;c<columns.length;c++) columns[c] = Arrays.copyOf(columns[c], capacity);
+				}
+				for(int c=0;c<columns.length;c++){
+					columns[c][size] = NumberParser.parseDouble(cursor.line(), cursor.start(c), cursor.end(c));
+				}
+				size++;
 			}
-			System.out.println();
+			for(int c=0;c<columns.length;c++) columns[c] = Arrays.copyOf(columns[c], size);
+			return columns;
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		} finally {
+			cursor.close();
 		}
-		System.out.println("----------------------------");
-		System.out.println();
+		return null;
 	}
 
-	/*――――――――――――――――――――――――――――――
-	 * 統計
-	 * ――――――――――――――――――――――――――――――*/
+	/**
+	 * 区切り文字で区切られたファイルを一行ずつ走査し，指定列の位置を得るカーソル．
+	 * <p>
+	 * 行はMappedLineReaderの行バッファ上のバイト列として扱われ，文字列は作成されません．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	private static class ColumnCursor implements Closeable {
+		private final MappedLineReader reader;
+		private final byte delimiter;
+		private final int[] indexes;
+		private final int[] fieldStarts;
+		private final int[] fieldEnds;
+		private int fields;
+
+		/**
+		 * ColumnCursorを発行する．
+		 * @since 1.2
+		 * @param reader 内部Reader
+		 * @param delimiter 区切り文字
+		 * @param indexes 取得する列番号
+		 */
+		ColumnCursor(MappedLineReader reader, char delimiter, int[] indexes){
+			if(delimiter>=0x80) throw new IllegalArgumentException("区切り文字はASCII文字である必要があります．");
+			int max = 0;
+			for(int index : indexes) max = Math.max(max, index);
+			this.reader = reader;
+			this.delimiter = (byte)delimiter;
+			this.indexes = indexes;
+			this.fieldStarts = new int[max+1];
+			this.fieldEnds = new int[max+1];
+		}
 
+		/**
+		 * 指定されたファイルパスのColumnCursorを発行する．
+		 * @since 1.2
+		 * @param path ファイルパス
+		 * @param delimiter 区切り文字
+		 * @param indexes 取得する列番号
+		 * @return ColumnCursor，失敗時はnull
+		 */
+		static ColumnCursor open(String path, char delimiter, int[] indexes){
+			Reader reader = getMappedReader(path);
+			if(reader==null) return null;
+			return new ColumnCursor((MappedLineReader)reader, delimiter, indexes);
+		}
 
-/**
-     * 箱ひげ図で必要な値を取得する．
-     * <p>
-     * 1.1で引数がList<Integer>からList<Double>に変更されました．
-     * </p>
-     * @since 1.1
-     * @param value 対象データリスト
-     * @return {最小値,第一四分位数,中央値,第三四分位数,最大値}
-     */
-     public static List<Double> getBoxPlotValue(List<Double> value){
-          Collections.sort(value);
-          double center, first, third, start = 0, goal = value.size()-1;
-          double down = Math.floor((start+goal)*1.0/2);
-          double up = Math.ceil((start+goal)*1.0/2);
-          center = (value.get((int)down)+value.get((int)up))*1.0/2;
-          double down1 = Math.floor((start+down)*1.0/2);
-          double up1 = Math.ceil((start+down)*1.0/2);
-          first = (value.get((int)down1)+value.get((int)up1))*1.0/2;
-          double down2 = Math.floor((up+goal)*1.0/2);
-          double up2 =  Math.ceil((up+goal)*1.0/2);
-          third = (value.get((int)down2)+value.get((int)up2))*1.0/2;
-          Double min = Double.valueOf(value.get(0));
-          Double max = Double.valueOf(value.get(value.size()-1));
-          List<Double> result = new ArrayList<Double>();
-          result.add(min);
-          result.add(first);
-          result.add(center);
-          result.add(third);
-          result.add(max);
-          return result;
-     }
+		/**
+		 * 次の行へ進み，指定列の位置を求める．
+		 * @since 1.2
+		 * @return 行があったかどうか
+		 * @throws IOException
+		 */
+		boolean next() throws IOException {
+			if(!reader.nextLine()) return false;
+			byte[] b = reader.line;
+			int length = reader.lineLength;
+			int max = fieldStarts.length-1;
+			int field = 0;
+			int start = 0;
+			for(int i=0;i<length && field<=max;i++){
+				if(b[i]==delimiter){
+					fieldStarts[field] = start;
+					fieldEnds[field] = i;
+					field++;
+					start = i+1;
+				}
+			}
+			if(field<=max){
+				fieldStarts[field] = start;
+				fieldEnds[field] = length;
+				field++;
+			}
+			fields = field;
+			return true;
+		}
 
-	/**
-	 * PrecisionとRecallからF値を算出する
-	 * @since 1.0
-	 * @param precision
-	 * @param recall
-	 * @return F-Measure
-	 */
-	public static double getFmeasure(double precision, double recall){
-		return (2.0*precision*recall)/(precision+recall);
-	}
+		/**
+		 * 現在の行のバイト列を取得する．
+		 * @since 1.2
+		 * @return 行バッファ
+		 */
+		byte[] line(){
+			return reader.line;
+		}
 
-	/**
-	 * mapの平均値，最大値，最小値を出力する．
-	 * @since 1.0
-	 * @param map 対象のmap
-	 */
-	public static void printAveMaxMin(Map<Integer, Integer> map) {
-		int sum = 0;
-		int count = 0;
-		int min = Integer.MAX_VALUE;
-		int max = Integer.MIN_VALUE;
-		for(Integer key : map.keySet()){
-			Integer value = map.get(key);
-			sum += key*value;
-			count += value;
-			max = Math.max(max, key);
-			min = Math.min(min, key);
+		/**
+		 * 指定列の開始位置を取得する．
+		 * @since 1.2
+		 * @param column indexes中の番地
+		 * @return 行バッファ上の開始位置
+		 */
+		int start(int column){
+			int index = indexes[column];
+			if(index>=fields) throw new ArrayIndexOutOfBoundsException(index);
+			return fieldStarts[index];
 		}
-		KoikeLibrary.printAveMaxMin(sum*1.0/count, max, min);
-	}
 
-	/**
-	 * listの平均値，最大値，最小値を出力する．
-	 * @since 1.0
-	 * @param list 対象のlist
-	 */
-	public static void printAveMaxMin(List<Integer> list) {
-		int sum = 0;
-		int size = list.size();
-		for(int i=0;i<size;i++){
-			int value = list.get(i);
-			sum += value;
+		/**
+		 * 指定列の終了位置を取得する．
+		 * @since 1.2
+		 * @param column indexes中の番地
+		 * @return 行バッファ上の終了位置(この位置を含まない)
+		 */
+		int end(int column){
+			return fieldEnds[indexes[column]];
 		}
-		KoikeLibrary.printAveMaxMin((sum*1.0)/size, Collections.max(list), Collections.min(list));
-	}
 
-	/**
-	 * 平均値，最大値，最小値の説明書きを付加した状態で出力する．
-	 * @since 1.0
-	 * @param ave 平均値
-	 * @param max 最大値
-	 * @param min 最小値
-	 */
-	private static void printAveMaxMin(double ave, int max, int min){
-		System.out.println("Average\t : "+ave);
-		System.out.println("Max\t : "+max);
-		System.out.println("Min\t : "+min);
+		/**
+		 * クローズする．
+		 * @since 1.2
+		 */
+		@Override
+		public void close(){
+			closeQuietly(reader);
+		}
 	}
 
 	/**
-	 * リスト内要素の平均値を出力する．
+	 * 指定されたファイルパスと文字コードでBufferedReaderを発行する．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
 	 * @since 1.0
-	 * @param list 対象のリスト
+	 * @param path ファイルパス
+	 * @param code 文字コード
+	 * @return BufferedReader
 	 */
-	public static void printAverage(List<Integer> list){
-		int sum = 0;
-		int size = list.size();
-		for(int i=0;i<size;i++) sum+=list.get(i);
-		System.out.println("Average : "+(sum*1.0/size));
+	public static BufferedReader createReader(String path, String code) {
+		try {
+			return new BufferedReader(new InputStreamReader(openInputStream(path),code));
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたファイルが見つかりませんでした．");
+			e.printStackTrace();
+		} catch (UnsupportedEncodingException e) {
+			System.err.println("指定された文字コードが適切ではありません．");
+			e.printStackTrace();
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		}
+		return null;
 	}
 
 	/**
-	 * リスト内要素について，何がいくつ格納されているかで返す．
+	 * 指定されたファイルパスでBufferedReaderを発行する．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
 	 * @since 1.0
-	 * @param list 対象のlist
-	 * @return map<要素名,要素名に対する個数>
+	 * @param path ファイルパス
+	 * @return BufferedReader
 	 */
-	public static Map<Integer, Integer> countElement(List<Integer> list){
-		Map<Integer, Integer> map = new TreeMap<Integer, Integer>();
-		for(Integer key : list){
-			if(map.containsKey(key)){
-				int before = map.get(key);
-				map.put(key, ++before);
-			}
-			else map.put(key, 1);
+	public static BufferedReader createReader(String path) {
+		try {
+			return new BufferedReader(new InputStreamReader(openInputStream(path)));
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたファイルが見つかりませんでした．");
+			e.printStackTrace();
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
 		}
-		return map;
+		return null;
 	}
 
 	/**
-	 * リスト内要素について，何がいくつ，全体に対してどれくらいの割合で格納されているか出力する．
+	 * 指定されたファイルパスと読込みモードでBufferedReaderを発行する．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param mode 読込みモード
+	 * @return BufferedReader
+	 */
+	public static BufferedReader createReader(String path, ReaderMode mode) {
+		return createReader(path, Charset.defaultCharset().name(), mode);
+	}
+
+	/**
+	 * 指定されたファイルパスと文字コードと読込みモードでBufferedReaderを発行する．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param code 文字コード
+	 * @param mode 読込みモード
+	 * @return BufferedReader
+	 */
+	public static BufferedReader createReader(String path, String code, ReaderMode mode) {
+		Charset charset;
+		try {
+			charset = Charset.forName(code);
+		} catch (IllegalArgumentException e) {
+			System.err.println("指定された文字コードが適切ではありません．");
+			e.printStackTrace();
+			return null;
+		}
+		Reader in = getReader(path, charset, mode);
+		return in==null ? null : new MyBufferedReader(in);
+	}
+
+	/*――――――――――――――――――――――――――――――
+	 * 出力
+	 * ――――――――――――――――――――――――――――――*/
+
+	/**
+	 * MyBufferedWriter．
+	 * <p>
+	 * BufferedWriterの拡張版．<br>
+	 * 1.2よりグループコミットモードで発行すると，フラッシュ要求がまとめられ，
+	 * バックグラウンドスレッドにより一定間隔または一定量ごとにフラッシュされます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.0
+	 */
+	public static class MyBufferedWriter extends BufferedWriter{
+
+		/** 書込み先のファイル */
+		private final FileOutputStream out;
+		/** グループコミットモード時のフラッシュスレッド */
+		private final GroupCommitter committer;
+
+		/**
+		 * 指定されたファイルパスでMyBufferedWriterを発行する．
+		 * <p>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @param path ファイルパス
+		 */
+		public MyBufferedWriter(String path){
+			this(KoikeLibrary.getOutputStream(path,false), 0, 0);
+		}
+
+		/**
+		 * 指定されたファイルパスでMyBufferedWriterを発行する．
+		 * @since 1.0
+		 * @param path ファイルパス
+		 * @param append 上書きフラグ
+		 */
+		public MyBufferedWriter(String path, boolean append){
+			this(KoikeLibrary.getOutputStream(path, append), 0, 0);
+		}
+
+		/**
+		 * 指定されたファイルパスでグループコミットモードのMyBufferedWriterを発行する．
+		 * <p>
+		 * flush，writeFlush，writelnFlushはフラッシュを要求するのみで，すぐには戻ります．<br>
+		 * 要求されたフラッシュはバックグラウンドスレッドによりflushInterval[ms]ごとにまとめて行われ，
+		 * 前回のフラッシュからflushThreshold文字以上書き込まれた場合はその時点で行われます．<br>
+		 * そのため，異常終了時に失われ得るのは高々flushInterval[ms]間の書込みです．<br>
+		 * 確実にファイルへ反映させる場合はsyncを呼び出してください．
+		 * </p>
+		 * @since 1.2
+		 * @param path ファイルパス
+		 * @param append 上書きフラグ
+		 * @param flushInterval フラッシュ間隔[ms]，0以下の場合はグループコミットを行わない
+		 * @param flushThreshold 即座にフラッシュする書込み文字数，0以下の場合は間隔のみ
+		 */
+		public MyBufferedWriter(String path, boolean append, long flushInterval, int flushThreshold){
+			this(KoikeLibrary.getOutputStream(path, append), flushInterval, flushThreshold);
+		}
+
+		/**
+		 * 書込み先のファイルを指定してMyBufferedWriterを発行する．
+		 * @since 1.2
+		 * @param out 書込み先のファイル
+		 * @param flushInterval フラッシュ間隔[ms]，0以下の場合はグループコミットを行わない
+		 * @param flushThreshold 即座にフラッシュする書込み文字数
+		 */
+		private MyBufferedWriter(FileOutputStream out, long flushInterval, int flushThreshold){
+			super(new OutputStreamWriter(out));
+			this.out = out;
+			this.committer = flushInterval>0 ? new GroupCommitter(this, flushInterval, flushThreshold) : null;
+		}
+
+		/**
+		 * 文字列を書き込む．
+		 * <p>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.0
+		 * @param str 書き込む文字列
+		 */
+		@Override
+		public void write(String str){
+			try {
+				super.write(str);
+			} catch (IOException e) {
+				System.err.println("書き込めませんでした．");
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * 文字列の一部を書き込む．
+		 * <p>
+		 * 1.2より，グループコミットモードでは書込み文字数を数えます．<br>
+		 * 文字列と改行文字の書込みはこのメソッドを経由します．
+		 * </p>
+		 * @since 1.2
+		 * @param str 書き込む文字列
+		 * @param off 開始位置
+		 * @param len 文字数
+		 * @throws IOException
+		 */
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			super.write(str, off, len);
+			if(committer!=null) committer.written(len);
+		}
+
+		/**
+		 * 文字配列の一部を書き込む．
+		 * <p>
+		 * 1.2より，グループコミットモードでは書込み文字数を数えます．
+		 * </p>
+		 * @since 1.2
+		 * @param cbuf 書き込む文字配列
+		 * @param off 開始位置
+		 * @param len 文字数
+		 * @throws IOException
+		 */
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			super.write(cbuf, off, len);
+			if(committer!=null) committer.written(len);
+		}
+
+		/**
+		 * 一文字を書き込む．
+		 * <p>
+		 * 1.2より，グループコミットモードでは書込み文字数を数えます．
+		 * </p>
+		 * @since 1.2
+		 * @param c 書き込む文字
+		 * @throws IOException
+		 */
+		@Override
+		public void write(int c) throws IOException {
+			super.write(c);
+			if(committer!=null) committer.written(1);
+		}
+
+		/**
+		 * Objectを書き込む．
+		 * <p>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.1
+		 * @param o 書き込むObject
+		 */
+		public void write(Object o){
+			write(o.toString());
+		}
+
+		/**
+		 * 改行文字を書込む．
+		 * <p>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.0
+		 */
+		@Override
+		public void newLine(){
+			try {
+				super.newLine();
+			} catch (IOException e) {
+				System.err.println("書き込めませんでした．");
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * 文字列を改行文字と共に書き込む．
+		 * @since 1.0
+		 * @param str 書き込む文字列
+		 */
+		public void writeln(String str){
+			write(str);
+			newLine();
+		}
+
+		/**
+		 * Objectを改行文字と共に書き込む．
+		 * @since 1.1
+		 * @param o 書き込むObject
+		 */
+		public void writeln(Object o){
+			write(o.toString());
+			newLine();
+		}
+
+		/**
+		 * 文字列を書込み，その後フラッシュする．
+		 * @since 1.0
+		 * @param str 書き込む文字列
+		 */
+		public void writeFlush(String str){
+			write(str);
+			flush();
+		}
+
+		/**
+		 * Objectを書込み，その後フラッシュする．
+		 * @since 1.1
+		 * @param o 書き込むObject
+		 */
+		public void writeFlush(Object o){
+			write(o.toString());
+			flush();
+		}
+
+		/**
+		 * 文字列を改行文字と共に書込み，その後フラッシュする．
+		 * @since 1.0
+		 * @param str 書き込む文字
+		 */
+		public void writelnFlush(String str){
+			write(str);
+			newLine();
+			flush();
+		}
+
+		/**
+		 * Objectを改行文字と共に書込み，その後フラッシュする．
+		 * @since 1.1
+		 * @param o 書き込むObject
+		 */
+		public void writelnFlush(Object o){
+			write(o.toString());
+			newLine();
+			flush();
+		}
+
+		/**
+		 * フラッシュする．
+		 * <p>
+		 * バッファの内容が明示的に書込み指示できます．<br>
+		 * グループコミットモードでは，フラッシュを要求するのみです．<br>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.0
+		 */
+		@Override
+		public void flush(){
+			if(committer!=null) committer.request(false);
+			else flushNow();
+		}
+
+		/**
+		 * 即座にフラッシュする．
+		 * <p>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.2
+		 */
+		private void flushNow(){
+			try {
+				super.flush();
+			} catch (IOException e) {
+				System.err.println("フラッシュできませんでした．");
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * これまでの書込みを確実にファイルへ反映させる．
+		 * <p>
+		 * バッファの内容をフラッシュした上で，OSのバッファもディスクへ同期します．<br>
+		 * グループコミットモードでの耐久性の境界として使用します．<br>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.2
+		 */
+		public void sync(){
+			flushNow();
+			try {
+				out.getFD().sync();
+			} catch (IOException e) {
+				System.err.println("ファイルを同期できませんでした．");
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * クローズします．
+		 * <p>
+		 * グループコミットモードでは，フラッシュスレッドを停止してからクローズします．<br>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.0
+		 */
+		@Override
+		public void close(){
+			if(committer!=null) committer.stop();
+			try {
+				super.close();
+			} catch (IOException e) {
+				System.err.println("ファイルをクローズできませんでした．");
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * MyBufferedWriterのグループコミットを行うフラッシュスレッド．
+	 * <p>
+	 * フラッシュ要求を受け付け，一定間隔ごとに，または書込み量が閾値を超えた時点で，
+	 * まとめて一度だけフラッシュします．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	private static class GroupCommitter implements Runnable {
+		private final MyBufferedWriter writer;
+		private final long interval;
+		private final int threshold;
+		private final AtomicLong pending = new AtomicLong();
+		private final Thread thread;
+		private boolean requested;
+		private boolean urgent;
+		private boolean stopped;
+
+		/**
+		 * フラッシュスレッドを開始する．
+		 * @since 1.2
+		 * @param writer 対象のMyBufferedWriter
+		 * @param interval フラッシュ間隔[ms]
+		 * @param threshold 即座にフラッシュする書込み文字数
+		 */
+		GroupCommitter(MyBufferedWriter writer, long interval, int threshold){
+			this.writer = writer;
+			this.interval = interval;
+			this.threshold = threshold;
+			this.thread = new Thread(this, "KoikeLibrary-GroupCommit");
+			this.thread.setDaemon(true);
+			this.thread.start();
+		}
+
+		/**
+		 * 書込み量を加算し，閾値を超えた場合は即座のフラッシュを要求する．
+		 * @since 1.2
+		 * @param chars 書き込んだ文字数
+		 */
+		void written(int chars){
+			if(threshold>0 && pending.addAndGet(chars)>=threshold){
+				pending.set(0);
+				request(true);
+			}
+		}
+
+		/**
+		 * フラッシュを要求する．
+		 * @since 1.2
+		 * @param now 次の間隔を待たずにフラッシュするかどうか
+		 */
+		synchronized void request(boolean now){
+			requested = true;
+			if(now){
+				urgent = true;
+				notifyAll();
+			}
+		}
+
+		/**
+		 * 残りの要求をフラッシュしてスレッドを停止する．
+		 * @since 1.2
+		 */
+		void stop(){
+			synchronized(this){
+				stopped = true;
+				notifyAll();
+			}
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void run(){
+			while(true){
+				boolean flush;
+				boolean last;
+				synchronized(this){
+					if(!urgent && !stopped){
+						try {
+							wait(interval);
+						} catch (InterruptedException e) {
+							stopped = true;
+						}
+					}
+					flush = requested;
+					last = stopped;
+					requested = false;
+					urgent = false;
+				}
+				if(flush){
+					pending.set(0);
+					writer.flushNow();
+				}
+				if(last) return;
+			}
+		}
+	}
+
+	/**
+	 * MyBufferedWriterの書込み先ファイルを開く．
+	 * <p>
+	 * 1.2より，ファイルの同期のためにWriterではなくFileOutputStreamを返します．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.0
+	 * @param path ファイルパス
+	 * @param append 上書きフラグ
+	 * @return FileOutputStream
+	 */
+	private static FileOutputStream getOutputStream(String path, boolean append){
+		try {
+			return new FileOutputStream(path,append);
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたパスへ書込み準備ができませんでした．");
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/**
+	 * 分割出力．
+	 * <p>
+	 * レコードをN個のパートファイルへ振り分けて書き込みます．<br>
+	 * パートファイルは「パス.part-シャード番号-通し番号」という名前で作成され，
+	 * 書込みバイト数が指定サイズに達した時点でレコードの区切りで次の通し番号のファイルへ切り替わります．<br>
+	 * 次のパートファイルは次のレコードを書き込む時点で作成されるため，空のパートファイルは作成されません．<br>
+	 * 各シャードはMyBufferedWriterで書き込み，シャードごとに独立してロックするため，
+	 * 全体で共有されるロックはありません．<br>
+	 * ワーカースレッドごとにshard(i)で専有するシャードを取得すると，競合なく書き込めます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class ShardedWriter implements Closeable {
+		private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+		private final String path;
+		private final long rotateSize;
+		private final Shard[] shards;
+		private final AtomicInteger next = new AtomicInteger();
+
+		/**
+		 * 指定されたファイルパスでShardedWriterを発行する．
+		 * <p>
+		 * パートファイルの切り替えは行いません．
+		 * </p>
+		 * @since 1.2
+		 * @param path ファイルパス
+		 * @param n シャード数
+		 */
+		public ShardedWriter(String path, int n){
+			this(path, n, 0);
+		}
+
+		/**
+		 * 指定されたファイルパスでShardedWriterを発行する．
+		 * @since 1.2
+		 * @param path ファイルパス
+		 * @param n シャード数
+		 * @param rotateSize パートファイルを切り替えるバイト数(既定の文字コードで符号化した大きさ)，0以下の場合は切り替えない
+		 */
+		public ShardedWriter(String path, int n, long rotateSize){
+			if(n<=0) throw new IllegalArgumentException("シャード数は1以上を指定してください．");
+			this.path = path;
+			this.rotateSize = rotateSize;
+			this.shards = new Shard[n];
+			for(int i=0;i<n;i++) shards[i] = new Shard(i);
+		}
+
+		/**
+		 * シャード数を取得する．
+		 * @since 1.2
+		 * @return シャード数
+		 */
+		public int getShardCount(){
+			return shards.length;
+		}
+
+		/**
+		 * 指定された番号のシャードを取得する．
+		 * @since 1.2
+		 * @param i シャード番号
+		 * @return シャード
+		 */
+		public Shard shard(int i){
+			return shards[i];
+		}
+
+		/**
+		 * キーのハッシュ値で選んだシャードへ文字列を改行文字と共に書き込む．
+		 * <p>
+		 * 同じキーのレコードは常に同じシャードへ書き込まれます．
+		 * </p>
+		 * @since 1.2
+		 * @param key キー
+		 * @param str 書き込む文字列
+		 */
+		public void writeln(Object key, String str){
+			int h = key.hashCode();
+			h ^= h>>>16;
+			shards[(h & 0x7FFFFFFF)%shards.length].writeln(str);
+		}
+
+		/**
+		 * ラウンドロビンで選んだシャードへ文字列を改行文字と共に書き込む．
+		 * @since 1.2
+		 * @param str 書き込む文字列
+		 */
+		public void writeln(String str){
+			shards[(next.getAndIncrement() & 0x7FFFFFFF)%shards.length].writeln(str);
+		}
+
+		/**
+		 * これまでに作成されたパートファイルのパスを取得する．
+		 * @since 1.2
+		 * @return パートファイルのパスのリスト
+		 */
+		public List<String> getPaths(){
+			List<String> list = new ArrayList<String>();
+			for(Shard shard : shards){
+				int seq = shard.getSequence();
+				for(int j=0;j<=seq;j++) list.add(getPartPath(shard.index, j));
+			}
+			return list;
+		}
+
+		/**
+		 * パートファイルのパスを取得する．
+		 * @since 1.2
+		 * @param shard シャード番号
+		 * @param seq 通し番号
+		 * @return パートファイルのパス
+		 */
+		private String getPartPath(int shard, int seq){
+			return String.format("%s.part-%05d-%04d", path, shard, seq);
+		}
+
+		/**
+		 * 全てのシャードをフラッシュする．
+		 * @since 1.2
+		 */
+		public void flush(){
+			for(Shard shard : shards) shard.flush();
+		}
+
+		/**
+		 * 全てのシャードをクローズする．
+		 * @since 1.2
+		 */
+		@Override
+		public void close(){
+			for(Shard shard : shards) shard.close();
+		}
+
+		/**
+		 * 文字列を既定の文字コードで符号化したバイト数を取得する．
+		 * <p>
+		 * ASCII文字のみの場合は符号化せずに文字数を返します．
+		 * </p>
+		 * @since 1.2
+		 * @param str 文字列
+		 * @return バイト数
+		 */
+		private static int getEncodedLength(String str){
+			int n = str.length();
+			for(int i=0;i<n;i++){
+				if(str.charAt(i)>=0x80) return str.getBytes(Charset.defaultCharset()).length;
+			}
+			return n;
+		}
+
+		/**
+		 * ShardedWriterの1つのシャード．
+		 * <p>
+		 * 書込みはシャードごとに同期されます．
+		 * </p>
+		 * @author T.Koike
+		 * @since 1.2
+		 */
+		public final class Shard {
+			private final int index;
+			/** 現在のパートファイル，次のレコードを書き込むまで開かないためそれまではnull */
+			private MyBufferedWriter writer;
+			private long written;
+			private int seq = -1;
+			private boolean closed;
+
+			/**
+			 * シャードを作成する．
+			 * <p>
+			 * パートファイルは最初のレコードを書き込む時に作成します．
+			 * </p>
+			 * @since 1.2
+			 * @param index シャード番号
+			 */
+			private Shard(int index){
+				this.index = index;
+			}
+
+			/**
+			 * 現在のパートファイルの通し番号を取得する．
+			 * @since 1.2
+			 * @return 通し番号，パートファイルを1つも作成していない場合は-1
+			 */
+			public synchronized int getSequence(){
+				return seq;
+			}
+
+			/**
+			 * 文字列を改行文字と共に書き込む．
+			 * <p>
+			 * 改行文字を含めた書込みバイト数が切り替えサイズに達した場合は，現在のパートファイルをクローズし，
+			 * 次のレコードの書込み時に次のパートファイルを作成します．
+			 * </p>
+			 * @since 1.2
+			 * @param str 書き込む文字列
+			 * @throws IllegalStateException クローズ後に呼び出した場合
+			 */
+			public synchronized void writeln(String str){
+				if(closed) throw new IllegalStateException("クローズ済みのシャードには書き込めません．");
+				if(writer==null){
+					seq++;
+					writer = new MyBufferedWriter(getPartPath(index, seq));
+				}
+				writer.writeln(str);
+				if(rotateSize<=0) return;
+				written += getEncodedLength(str)+LINE_SEPARATOR_LENGTH;
+				if(written>=rotateSize){
+					writer.close();
+					writer = null;
+					written = 0;
+				}
+			}
+
+			/**
+			 * Objectを改行文字と共に書き込む．
+			 * @since 1.2
+			 * @param o 書き込むObject
+			 */
+			public void writeln(Object o){
+				writeln(o.toString());
+			}
+
+			/**
+			 * フラッシュする．
+			 * @since 1.2
+			 */
+			public synchronized void flush(){
+				if(writer!=null) writer.flush();
+			}
+
+			/**
+			 * クローズする．
+			 * @since 1.2
+			 */
+			public synchronized void close(){
+				closed = true;
+				if(writer!=null) writer.close();
+				writer = null;
+			}
+		}
+	}
+
+	/**
+	 * System.out の出力先をファイルパスにする．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.0
+	 * @param path ファイルパス
+	 */
+	public static void setSystemOut(String path){
+		try {
+			System.setOut(new PrintStream(new File(path)));
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたパスにファイルが作成できません．");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * System.err の出力先をファイルパスにする．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.0
+	 * @param path ファイルパス
+	 */
+	public static void setSystemErr(String path){
+		try {
+			System.setErr(new PrintStream(new File(path)));
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたパスにファイルが作成できません．");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * System.out の出力先をファイルパスにし，非同期に書き込む．
+	 * <p>
+	 * 容量8192のリングバッファを用い，満杯の場合は空くまで待ちます．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @return 設定したAsyncPrintStream
+	 * @see AsyncPrintStream
+	 */
+	public static AsyncPrintStream setSystemOutAsync(String path){
+		return setSystemOutAsync(path, AsyncPrintStream.DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * System.out の出力先をファイルパスにし，非同期に書き込む．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param capacity リングバッファの容量
+	 * @param policy リングバッファが満杯の場合の動作
+	 * @return 設定したAsyncPrintStream
+	 * @see AsyncPrintStream
+	 */
+	public static AsyncPrintStream setSystemOutAsync(String path, int capacity, OverflowPolicy policy){
+		AsyncPrintStream stream = AsyncPrintStream.open(path, capacity, policy);
+		if(stream!=null) System.setOut(stream);
+		return stream;
+	}
+
+	/**
+	 * System.err の出力先をファイルパスにし，非同期に書き込む．
+	 * <p>
+	 * 容量8192のリングバッファを用い，満杯の場合は空くまで待ちます．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @return 設定したAsyncPrintStream
+	 * @see AsyncPrintStream
+	 */
+	public static AsyncPrintStream setSystemErrAsync(String path){
+		return setSystemErrAsync(path, AsyncPrintStream.DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * System.err の出力先をファイルパスにし，非同期に書き込む．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param capacity リングバッファの容量
+	 * @param policy リングバッファが満杯の場合の動作
+	 * @return 設定したAsyncPrintStream
+	 * @see AsyncPrintStream
+	 */
+	public static AsyncPrintStream setSystemErrAsync(String path, int capacity, OverflowPolicy policy){
+		AsyncPrintStream stream = AsyncPrintStream.open(path, capacity, policy);
+		if(stream!=null) System.setErr(stream);
+		return stream;
+	}
+
+	/**
+	 * AsyncPrintStreamのリングバッファが満杯の場合の動作．
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static enum OverflowPolicy {
+		/** 空きができるまで出力したスレッドを待たせる */
+		BLOCK,
+		/** 出力を破棄し，破棄した件数を数える */
+		DROP
+	}
+
+	/**
+	 * 非同期出力ストリーム．
+	 * <p>
+	 * 出力はロックを取らずに複数生産者のリングバッファへ追加され，
+	 * 1つのバックグラウンドスレッドがまとめてファイルへ書き込みます．<br>
+	 * そのため，多数のスレッドからのprintlnが互いに待たされることがありません．<br>
+	 * println等の1回の呼出しの出力は，他のスレッドの出力と混ざらずに書き込まれます．<br>
+	 * flushは，それまでの出力がファイルへ書き込まれるまで待ちます．<br>
+	 * 終了時にはシャットダウンフックにより残りの出力が書き込まれます．<br>
+	 * 書込みでエラーが発生した場合は，PrintStreamと同様にcheckErrorがtrueを返します．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class AsyncPrintStream extends PrintStream {
+		/** リングバッファの既定の容量 */
+		public static final int DEFAULT_CAPACITY = 8192;
+		private static final String LINE_SEPARATOR = System.lineSeparator();
+
+		private final FileOutputStream file;
+		private final Writer writer;
+		private final OverflowPolicy policy;
+		private final Object[] ring;
+		private final AtomicLongArray sequence;
+		private final int mask;
+		private final AtomicLong tail = new AtomicLong();
+		private final AtomicLong dropped = new AtomicLong();
+		private final Thread drainer;
+		private final Thread hook;
+		private long head;
+		private volatile long flushed;
+		private volatile boolean flushRequested;
+		private volatile boolean closed;
+		private volatile boolean error;
+
+		/**
+		 * 指定されたファイルパスでAsyncPrintStreamを発行する．
+		 * <p>
+		 * try-catchを行います．<br>
+		 * そのため例外はスローされません．
+		 * </p>
+		 * @since 1.2
+		 * @param path ファイルパス
+		 * @param capacity リングバッファの容量
+		 * @param policy リングバッファが満杯の場合の動作
+		 * @return AsyncPrintStream，ファイルが作成できない場合はnull
+		 */
+		static AsyncPrintStream open(String path, int capacity, OverflowPolicy policy){
+			try {
+				return new AsyncPrintStream(new FileOutputStream(path), capacity, policy);
+			} catch (FileNotFoundException e) {
+				System.err.println("指定されたパスにファイルが作成できません．");
+				e.printStackTrace();
+			}
+			return null;
+		}
+
+		/**
+		 * 書込み先のファイルを指定してAsyncPrintStreamを発行する．
+		 * @since 1.2
+		 * @param file 書込み先のファイル
+		 * @param capacity リングバッファの容量(2のべき乗に切り上げられます)
+		 * @param policy リングバッファが満杯の場合の動作
+		 */
+		private AsyncPrintStream(FileOutputStream file, int capacity, OverflowPolicy policy){
+			super(file);
+			int size = Integer.highestOneBit(Math.max(capacity, 2)-1)<<1;
+			this.file = file;
+			this.writer = new BufferedWriter(new OutputStreamWriter(file), 1<<16);
+			this.policy = policy;
+			this.ring = new Object[size];
+			this.sequence = new AtomicLongArray(size);
+			this.mask = size-1;
+			for(int i=0;i<size;i++) sequence.set(i, i);
+			this.drainer = new Thread(new Runnable(){
+				@Override
+				public void run(){
+					drain();
+				}
+			}, "KoikeLibrary-AsyncPrint");
+			this.drainer.setDaemon(true);
+			this.drainer.start();
+			this.hook = new Thread(new Runnable(){
+				@Override
+				public void run(){
+					flush();
+				}
+			});
+			Runtime.getRuntime().addShutdownHook(hook);
+		}
+
+		/**
+		 * リングバッファへ追加する．
+		 * <p>
+		 * BLOCKの場合は空きができるまで待ち，DROPの場合は破棄した件数を数えます．
+		 * </p>
+		 * @since 1.2
+		 * @param o 追加する文字列またはバイト列
+		 */
+		private void enqueue(Object o){
+			if(closed){
+				error = true;
+				return;
+			}
+			int spins = 0;
+			while(true){
+				long pos = tail.get();
+				int index = (int)pos & mask;
+				long diff = sequence.get(index)-pos;
+				if(diff==0){
+					if(tail.compareAndSet(pos, pos+1)){
+						ring[index] = o;
+						sequence.lazySet(index, pos+1);
+						return;
+					}
+				}
+				else if(diff<0){
+					if(policy==OverflowPolicy.DROP || closed){
+						dropped.incrementAndGet();
+						return;
+					}
+					LockSupport.unpark(drainer);
+					if(++spins<64) Thread.yield();
+					else LockSupport.parkNanos(50000);
+				}
+			}
+		}
+
+		/**
+		 * リングバッファから取り出す．
+		 * <p>
+		 * 取出しは書込みスレッドのみが行います．
+		 * </p>
+		 * @since 1.2
+		 * @return 取り出した文字列またはバイト列，空の場合はnull
+		 */
+		private Object dequeue(){
+			int index = (int)head & mask;
+			if(sequence.get(index)-(head+1)<0) return null;
+			Object o = ring[index];
+			ring[index] = null;
+			sequence.lazySet(index, head+mask+1);
+			head++;
+			return o;
+		}
+
+		/**
+		 * 書込みスレッドの処理．
+		 * <p>
+		 * リングバッファが空になった時点，またはフラッシュが要求された時点でファイルへフラッシュします．
+		 * </p>
+		 * @since 1.2
+		 */
+		private void drain(){
+			while(true){
+				boolean stop = closed;
+				boolean flush = flushRequested;
+				Object o;
+				int n = 0;
+				while(n<4096 && (o = dequeue())!=null){
+					try {
+						if(o instanceof String){
+							writer.write((String)o);
+						}
+						else{
+							writer.flush();
+							file.write((byte[])o);
+						}
+					} catch (IOException e) {
+						error = true;
+					}
+					n++;
+				}
+				if(n<4096 || flush){
+					long done = head;
+					if(flushed!=done || flush){
+						if(flush) flushRequested = false;
+						try {
+							writer.flush();
+						} catch (IOException e) {
+							error = true;
+						}
+						flushed = done;
+					}
+					if(stop && n==0) return;
+					if(n==0) LockSupport.parkNanos(1000000);
+				}
+			}
+		}
+
+		/**
+		 * 破棄した出力の件数を取得する．
+		 * @since 1.2
+		 * @return 破棄した件数
+		 */
+		public long getDroppedCount(){
+			return dropped.get();
+		}
+
+		/**
+		 * それまでの出力がファイルへ書き込まれるまで待つ．
+		 * @since 1.2
+		 */
+		@Override
+		public void flush(){
+			long target = tail.get();
+			while(flushed<target && drainer.isAlive()){
+				flushRequested = true;
+				LockSupport.unpark(drainer);
+				LockSupport.parkNanos(100000);
+			}
+		}
+
+		/**
+		 * 残りの出力を書き込んでからクローズする．
+		 * @since 1.2
+		 */
+		@Override
+		public void close(){
+			if(closed) return;
+			flush();
+			closed = true;
+			LockSupport.unpark(drainer);
+			try {
+				drainer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			try {
+				Runtime.getRuntime().removeShutdownHook(hook);
+			} catch (IllegalStateException e) {
+				// シャットダウン中は解除できない
+			}
+			try {
+				writer.close();
+			} catch (IOException e) {
+				error = true;
+			}
+		}
+
+		@Override
+		public boolean checkError(){
+			flush();
+			return error;
+		}
+
+		@Override
+		public void write(int b){
+			enqueue(new byte[]{(byte)b});
+		}
+
+		@Override
+		public void write(byte[] buf, int off, int len){
+			enqueue(Arrays.copyOfRange(buf, off, off+len));
+		}
+
+		@Override
+		public void print(boolean b){
+			enqueue(String.valueOf(b));
+		}
+
+		@Override
+		public void print(char c){
+			enqueue(String.valueOf(c));
+		}
+
+		@Override
+		public void print(int i){
+			enqueue(String.valueOf(i));
+		}
+
+		@Override
+		public void print(long l){
+			enqueue(String.valueOf(l));
+		}
+
+		@Override
+		public void print(float f){
+			enqueue(String.valueOf(f));
+		}
+
+		@Override
+		public void print(double d){
+			enqueue(String.valueOf(d));
+		}
+
+		@Override
+		public void print(char[] s){
+			enqueue(new String(s));
+		}
+
+		@Override
+		public void print(String s){
+			enqueue(String.valueOf(s));
+		}
+
+		@Override
+		public void print(Object obj){
+			enqueue(String.valueOf(obj));
+		}
+
+		@Override
+		public void println(){
+			enqueue(LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(boolean x){
+			enqueue(x+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(char x){
+			enqueue(x+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(int x){
+			enqueue(x+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(long x){
+			enqueue(x+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(float x){
+			enqueue(x+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(double x){
+			enqueue(x+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(char[] x){
+			enqueue(new String(x)+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(String x){
+			enqueue(x+LINE_SEPARATOR);
+		}
+
+		@Override
+		public void println(Object x){
+			enqueue(String.valueOf(x)+LINE_SEPARATOR);
+		}
+
+		@Override
+		public PrintStream format(String format, Object... args){
+			enqueue(String.format(format, args));
+			return this;
+		}
+
+		@Override
+		public PrintStream format(Locale l, String format, Object... args){
+			enqueue(String.format(l, format, args));
+			return this;
+		}
+	}
+
+	/**
+	 * 指定されたファイル名でBufferedWriterを発行する
+	 * @since 1.0
+	 * @param path パス名
+	 * @return BufferedWriter
+	 * @throws FileNotFoundException
+	 */
+	public static BufferedWriter createWriter(String path) {
+		return createWriter(path, false);
+	}
+
+	/**
+	 * 指定されたファイル名でBufferedWriterを発行する
+	 * @since 1.0
+	 * @param path パス名
+	 * @param append 上書き許可 (=true)
+	 * @return BufferedWriter
+	 */
+	public static BufferedWriter createWriter(String path, boolean append) {
+		try {
+			return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path,append)));
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたパスにファイルが作成できません．");
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/**
+	 * 多次元配列までの内容を出力します．
+	 * @param obj 対象の配列
+	 * @since 1.0
+	 */
+	public static void debugArrays(Object... obj) {
+		System.out.println(Arrays.deepToString(obj));
+	}
+
+	/**
+	 * 2次元配列マップを出力します．
+	 * <p>
+	 * 下方向にi，横方向にjとして出力されます．
+	 * </p>
+	 * @param map 出力対象2次元配列
+	 */
+	public static void printMaping(int[][] map) {
+		System.out.println("-------- map display ---------");
+		for (int i = 0; i < map.length; i++) {
+			for (int j = 0; j < map[i].length; j++) {
+				System.out.printf("%3d ", map[i][j]);
+			}
+			System.out.println();
+		}
+		System.out.println("----------------------------");
+		System.out.println();
+	}
+
+	/*――――――――――――――――――――――――――――――
+	 * 統計
+	 * ――――――――――――――――――――――――――――――*/
+
+
+/**
+     * 箱ひげ図で必要な値を取得する．
+     * <p>
+     * 1.1で引数がList<Integer>からList<Double>に変更されました．<br>
+     * 1.2より選択アルゴリズムで求めるようになり，引数のリストを並べ替えなくなりました．
+     * </p>
+     * @since 1.1
+     * @param value 対象データリスト
+     * @return {最小値,第一四分位数,中央値,第三四分位数,最大値}
+     * @see #getBoxPlotValue(double[])
+     */
+     public static List<Double> getBoxPlotValue(List<Double> value){
+          double[] array = new double[value.size()];
+          for(int i=0;i<array.length;i++) array[i] = value.get(i);
+          List<Double> result = new ArrayList<Double>();
+          for(double v : getBoxPlotValue(array)) result.add(v);
+          return result;
+     }
+
+	/**
+	 * 箱ひげ図で必要な値を取得する．
+	 * <p>
+	 * getBoxPlotValue(List)と同じ位置の値を，全体を並べ替えずに選択アルゴリズム(introselect)で
+	 * 期待O(n)で求めます．<br>
+	 * 引数の配列は変更されません．<br>
+	 * NaNまたは-0.0を含む場合は，Double.compareの順序に合わせるため並べ替えて求めます．
+	 * </p>
+	 * @since 1.2
+	 * @param value 対象データ配列
+	 * @return {最小値,第一四分位数,中央値,第三四分位数,最大値}
+	 */
+	public static double[] getBoxPlotValue(double[] value){
+		int n = value.length;
+		if(n==0) throw new IllegalArgumentException("対象データが空です．");
+		int goal = n-1;
+		int down = goal/2;
+		int up = goal-down;
+		int down1 = down/2;
+		int up1 = down-down1;
+		int down2 = (up+goal)/2;
+		int up2 = (up+goal)-down2;
+		int[] ranks = {down1, up1, down, up, down2, up2};
+
+		double[] a = value.clone();
+		boolean special = false;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for(double v : a){
+			if(v!=v || (v==0 && Double.doubleToRawLongBits(v)!=0)){
+				special = true;
+				break;
+			}
+			if(v<min) min = v;
+			if(v>max) max = v;
+		}
+		if(special){
+			Arrays.sort(a);
+			min = a[0];
+			max = a[goal];
+		}
+		else{
+			Arrays.sort(ranks);
+			select(a, 0, goal, ranks, 0, ranks.length, 2*(32-Integer.numberOfLeadingZeros(n)));
+		}
+		return new double[]{
+			min,
+			(a[down1]+a[up1])*1.0/2,
+			(a[down]+a[up])*1.0/2,
+			(a[down2]+a[up2])*1.0/2,
+			max
+		};
+	}
+
+	/**
+	 * 配列の区間[lo,hi]で，指定した順位の要素をそれぞれ正しい位置に置く．
+	 * <p>
+	 * 3分割のクイックセレクトで，順位を含む側のみを再帰的に処理します．<br>
+	 * 再帰が深くなりすぎた区間は並べ替えます．
+	 * </p>
+	 * @since 1.2
+	 * @param a 対象の配列
+	 * @param lo 区間の先頭
+	 * @param hi 区間の末尾(これを含む)
+	 * @param ranks 昇順の順位
+	 * @param from 対象とする順位の先頭
+	 * @param to 対象とする順位の末尾(これを含まない)
+	 * @param depth 残りの再帰の深さ
+	 */
+	private static void select(double[] a, int lo, int hi, int[] ranks, int from, int to, int depth){
+		while(from<to){
+			if(hi-lo<16){
+				for(int i=lo+1;i<=hi;i++){
+					double v = a[i];
+					int j = i-1;
+					while(j>=lo && a[j]>v){
+						a[j+1] = a[j];
+						j--;
+					}
+					a[j+1] = v;
+				}
+				return;
+			}
+			if(depth--==0){
+				Arrays.sort(a, lo, hi+1);
+				return;
+			}
+			int mid = (lo+hi)>>>1;
+			double x = a[lo];
+			double y = a[mid];
+			double z = a[hi];
+			double pivot = x<y ? (y<z ? y : x<z ? z : x) : (x<z ? x : y<z ? z : y);
+			int lt = lo;
+			int gt = hi;
+			int i = lo;
+			while(i<=gt){
+				double v = a[i];
+				if(v<pivot){
+					a[i++] = a[lt];
+					a[lt++] = v;
+				}
+				else if(v>pivot){
+					a[i] = a[gt];
+					a[gt--] = v;
+				}
+				else i++;
+			}
+			int left = from;
+			while(left<to && ranks[left]<lt) left++;
+			int right = left;
+			while(right<to && ranks[right]<=gt) right++;
+			if(left-from<=to-right){
+				select(a, lo, lt-1, ranks, from, left, depth);
+				lo = gt+1;
+				from = right;
+			}
+			else{
+				select(a, gt+1, hi, ranks, right, to, depth);
+				hi = lt-1;
+				to = left;
+			}
+		}
+	}
+
+	/**
+	 * 併合可能な分位点スケッチ．
+	 * <p>
+	 * KLLスケッチにより，全ての値を保持せずに有界なメモリで分位点を近似します．<br>
+	 * 正規化順位の誤差は典型的に1.7/k程度で，kが大きいほど正確になり，メモリはおよそ3kの値分です．<br>
+	 * 最小値と最大値は正確に保持されます．<br>
+	 * 並列に作成したスケッチはmergeで併合でき，併合後も同じ誤差の保証が成り立ちます．<br>
+	 * スレッドセーフではないため，スレッドごとにスケッチを作成して最後に併合してください．<br>
+	 * NaNは無視されます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class QuantileSketch {
+		/** kの既定値 */
+		public static final int DEFAULT_K = 200;
+		/** 各レベルの最小の容量 */
+		private static final int MIN_WIDTH = 8;
+		/** 上位のレベルに対する容量の比 */
+		private static final double CAPACITY_RATIO = 2.0/3;
+
+		private int k;
+		private double[][] levels = new double[1][];
+		private int[] sizes = new int[1];
+		private long count;
+		private double min = Double.NaN;
+		private double max = Double.NaN;
+		private final Random random = new Random();
+		/** 分位点計算用の並べ替え済みの値と累積の重み，更新されるとnull */
+		private double[] sortedValues;
+		private long[] cumulativeWeights;
+
+		/**
+		 * k=200でスケッチを作成する．
+		 * @since 1.2
+		 */
+		public QuantileSketch(){
+			this(DEFAULT_K);
+		}
+
+		/**
+		 * 精度を指定してスケッチを作成する．
+		 * @since 1.2
+		 * @param k 精度(8以上)
+		 */
+		public QuantileSketch(int k){
+			if(k<MIN_WIDTH) throw new IllegalArgumentException("kは"+MIN_WIDTH+"以上を指定してください．");
+			this.k = k;
+			this.levels[0] = new double[capacity(0)];
+		}
+
+		/**
+		 * 値を追加する．
+		 * @since 1.2
+		 * @param value 追加する値
+		 */
+		public void update(double value){
+			if(value!=value) return;
+			if(count==0){
+				min = value;
+				max = value;
+			}
+			else{
+				if(value<min) min = value;
+				if(value>max) max = value;
+			}
+			count++;
+			sortedValues = null;
+			if(sizes[0]==levels[0].length) levels[0] = Arrays.copyOf(levels[0], levels[0].length*2);
+			levels[0][sizes[0]++] = value;
+			if(sizes[0]>=capacity(0)) compress();
+		}
+
+		/**
+		 * 配列の全ての値を追加する．
+		 * @since 1.2
+		 * @param values 追加する値
+		 */
+		public void update(double[] values){
+			for(double v : values) update(v);
+		}
+
+		/**
+		 * 他のスケッチを併合する．
+		 * <p>
+		 * kが異なる場合は，小さい方のkになります．<br>
+		 * 引数のスケッチは変更されません．
+		 * </p>
+		 * @since 1.2
+		 * @param other 併合するスケッチ
+		 */
+		public void merge(QuantileSketch other){
+			if(other.count==0) return;
+			if(count==0){
+				min = other.min;
+				max = other.max;
+			}
+			else{
+				min = Math.min(min, other.min);
+				max = Math.max(max, other.max);
+			}
+			count += other.count;
+			k = Math.min(k, other.k);
+			sortedValues = null;
+			while(levels.length<other.levels.length) addLevel();
+			for(int h=0;h<other.levels.length;h++){
+				int need = sizes[h]+other.sizes[h];
+				if(need>levels[h].length) levels[h] = Arrays.copyOf(levels[h], Math.max(need, levels[h].length*2));
+				System.arraycopy(other.levels[h], 0, levels[h], sizes[h], other.sizes[h]);
+				sizes[h] = need;
+			}
+			compress();
+		}
+
+		/**
+		 * 追加された値の個数を取得する．
+		 * @since 1.2
+		 * @return 個数
+		 */
+		public long getCount(){
+			return count;
+		}
+
+		/**
+		 * 最小値を取得する．
+		 * @since 1.2
+		 * @return 最小値，空の場合はNaN
+		 */
+		public double getMin(){
+			return min;
+		}
+
+		/**
+		 * 最大値を取得する．
+		 * @since 1.2
+		 * @return 最大値，空の場合はNaN
+		 */
+		public double getMax(){
+			return max;
+		}
+
+		/**
+		 * 分位点の近似値を取得する．
+		 * <p>
+		 * 0は最小値，1は最大値になります．
+		 * </p>
+		 * @since 1.2
+		 * @param q 0から1までの割合
+		 * @return 分位点，空の場合はNaN
+		 */
+		public double getQuantile(double q){
+			if(q<0 || q>1) throw new IllegalArgumentException("割合は0から1までを指定してください．");
+			if(count==0) return Double.NaN;
+			if(q==0) return min;
+			if(q==1) return max;
+			prepare();
+			long total = cumulativeWeights[cumulativeWeights.length-1];
+			double rank = q*total;
+			int lo = 0;
+			int hi = cumulativeWeights.length-1;
+			while(lo<hi){
+				int mid = (lo+hi)>>>1;
+				if(cumulativeWeights[mid]<rank) lo = mid+1;
+				else hi = mid;
+			}
+			return sortedValues[lo];
+		}
+
+		/**
+		 * 値以下の割合(正規化順位)の近似値を取得する．
+		 * @since 1.2
+		 * @param value 対象の値
+		 * @return 0から1までの割合，空の場合はNaN
+		 */
+		public double getRank(double value){
+			if(count==0) return Double.NaN;
+			prepare();
+			int lo = 0;
+			int hi = sortedValues.length;
+			while(lo<hi){
+				int mid = (lo+hi)>>>1;
+				if(sortedValues[mid]<=value) lo = mid+1;
+				else hi = mid;
+			}
+			return lo==0 ? 0 : cumulativeWeights[lo-1]*1.0/cumulativeWeights[cumulativeWeights.length-1];
+		}
+
+		/**
+		 * 箱ひげ図で必要な値の近似値を取得する．
+		 * <p>
+		 * 最小値と最大値は正確な値です．
+		 * </p>
+		 * @since 1.2
+		 * @return {最小値,第一四分位数,中央値,第三四分位数,最大値}
+		 * @see KoikeLibrary#getBoxPlotValue(double[])
+		 */
+		public double[] getBoxPlotValue(){
+			if(count==0) throw new IllegalArgumentException("対象データが空です．");
+			return new double[]{min, getQuantile(0.25), getQuantile(0.5), getQuantile(0.75), max};
+		}
+
+		/**
+		 * レベルhの容量を得る．
+		 * @since 1.2
+		 * @param h レベル
+		 * @return 容量
+		 */
+		private int capacity(int h){
+			int depth = levels.length-1-h;
+			return Math.max(MIN_WIDTH, (int)Math.ceil(k*Math.pow(CAPACITY_RATIO, depth)));
+		}
+
+		/**
+		 * 最上位にレベルを追加する．
+		 * @since 1.2
+		 */
+		private void addLevel(){
+			int n = levels.length;
+			levels = Arrays.copyOf(levels, n+1);
+			sizes = Arrays.copyOf(sizes, n+1);
+			levels[n] = new double[MIN_WIDTH];
+		}
+
+		/**
+		 * 容量を超えたレベルがなくなるまで圧縮する．
+		 * <p>
+		 * 容量を超えた最も下のレベルを並べ替え，ランダムに偶数番目または奇数番目の値のみを
+		 * 重みを2倍にして一つ上のレベルへ移します．
+		 * </p>
+		 * @since 1.2
+		 */
+		private void compress(){
+			boolean compacted = true;
+			while(compacted){
+				compacted = false;
+				for(int h=0;h<levels.length;h++){
+					if(sizes[h]<capacity(h)) continue;
+					if(h+1==levels.length) addLevel();
+					double[] items = levels[h];
+					int size = sizes[h];
+					Arrays.sort(items, 0, size);
+					int odd = size & 1;
+					int even = size-odd;
+					int half = even/2;
+					int need = sizes[h+1]+half;
+					if(need>levels[h+1].length) levels[h+1] = Arrays.copyOf(levels[h+1], Math.max(need, levels[h+1].length*2));
+					double[] upper = levels[h+1];
+					int j = sizes[h+1];
+					for(int i=random.nextBoolean() ? 1 : 0;i<even;i+=2) upper[j++] = items[i];
+					sizes[h+1] = j;
+					if(odd==1) items[0] = items[size-1];
+					sizes[h] = odd;
+					compacted = true;
+					break;
+				}
+			}
+		}
+
+		/**
+		 * 分位点計算用に，全ての値を重みと共に並べ替える．
+		 * @since 1.2
+		 */
+		private void prepare(){
+			if(sortedValues!=null) return;
+			int total = 0;
+			for(int h=0;h<levels.length;h++) total += sizes[h];
+			double[] values = new double[total];
+			long[] weights = new long[total];
+			int n = 0;
+			for(int h=0;h<levels.length;h++){
+				double[] level = Arrays.copyOf(levels[h], sizes[h]);
+				Arrays.sort(level);
+				long w = 1L<<h;
+				// 並べ替え済みの列同士を後ろから併合する
+				int i = n-1;
+				int j = level.length-1;
+				int dst = n+level.length-1;
+				while(j>=0){
+					if(i>=0 && values[i]>level[j]){
+						values[dst] = values[i];
+						weights[dst--] = weights[i--];
+					}
+					else{
+						values[dst] = level[j--];
+						weights[dst--] = w;
+					}
+				}
+				n += level.length;
+			}
+			for(int i=1;i<n;i++) weights[i] += weights[i-1];
+			sortedValues = values;
+			cumulativeWeights = weights;
+		}
+	}
+
+	/**
+	 * PrecisionとRecallからF値を算出する
+	 * <p>
+	 * 1.2よりPrecisionとRecallが共に0の場合は0を返します．
+	 * </p>
+	 * @since 1.0
+	 * @param precision
+	 * @param recall
+	 * @return F-Measure
+	 */
+	public static double getFmeasure(double precision, double recall){
+		if(precision+recall==0) return 0;
+		return (2.0*precision*recall)/(precision+recall);
+	}
+
+	/**
+	 * PrecisionとRecallから重み付きのF値(F-beta)を算出する
+	 * <p>
+	 * betaが1の場合はgetFmeasure(precision, recall)と同じです．<br>
+	 * PrecisionとRecallが共に0の場合は0を返します．
+	 * </p>
+	 * @since 1.2
+	 * @param precision
+	 * @param recall
+	 * @param beta Recallの重み
+	 * @return F-beta
+	 */
+	public static double getFmeasure(double precision, double recall, double beta){
+		double b2 = beta*beta;
+		double denominator = b2*precision+recall;
+		if(denominator==0) return 0;
+		return ((1+b2)*precision*recall)/denominator;
+	}
+
+	/**
+	 * 分類器の評価曲線．
+	 * <p>
+	 * スコアと正解ラベルの組から，全ての閾値(スコア以上を陽性と予測)での混同行列を求め，
+	 * Precision，Recall，F値，ROC曲線のAUC，Average Precisionを算出します．<br>
+	 * 陽性と陰性のスコアをそれぞれArrays.parallelSortで一度だけ並べ替え，
+	 * 閾値を降順に走査するため，全体でO(n log n)です．<br>
+	 * 任意の閾値での混同行列は二分探索によりO(log n)で求められます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class ClassificationCurve {
+		/** 陽性と陰性のスコア(昇順) */
+		private final double[] positives;
+		private final double[] negatives;
+		/** 異なるスコアを降順に並べた閾値 */
+		private final double[] thresholds;
+		/** 各閾値での真陽性数と偽陽性数 */
+		private final long[] truePositives;
+		private final long[] falsePositives;
+
+		/**
+		 * スコアと正解ラベルから評価曲線を作成する．
+		 * @since 1.2
+		 * @param scores スコア(NaNは不可)
+		 * @param labels 正解ラベル(陽性はtrue)
+		 */
+		public ClassificationCurve(double[] scores, boolean[] labels){
+			if(scores.length!=labels.length) throw new IllegalArgumentException("スコアとラベルの数が異なります．");
+			int p = 0;
+			for(boolean label : labels) if(label) p++;
+			positives = new double[p];
+			negatives = new double[scores.length-p];
+			int i = 0;
+			int j = 0;
+			for(int k=0;k<scores.length;k++){
+				double score = scores[k];
+				if(score!=score) throw new IllegalArgumentException("スコアにNaNが含まれています．");
+				if(labels[k]) positives[i++] = score;
+				else negatives[j++] = score;
+			}
+			Arrays.parallelSort(positives);
+			Arrays.parallelSort(negatives);
+
+			double[] th = new double[scores.length];
+			long[] tp = new long[scores.length];
+			long[] fp = new long[scores.length];
+			int n = 0;
+			i = positives.length-1;
+			j = negatives.length-1;
+			while(i>=0 || j>=0){
+				double t = i<0 ? negatives[j] : j<0 ? positives[i] : Math.max(positives[i], negatives[j]);
+				while(i>=0 && positives[i]==t) i--;
+				while(j>=0 && negatives[j]==t) j--;
+				th[n] = t;
+				tp[n] = positives.length-1-i;
+				fp[n] = negatives.length-1-j;
+				n++;
+			}
+			thresholds = Arrays.copyOf(th, n);
+			truePositives = Arrays.copyOf(tp, n);
+			falsePositives = Arrays.copyOf(fp, n);
+		}
+
+		/**
+		 * 閾値を降順に取得する．
+		 * @since 1.2
+		 * @return 閾値の配列
+		 */
+		public double[] getThresholds(){
+			return thresholds.clone();
+		}
+
+		/**
+		 * 各閾値でのPrecisionを取得する．
+		 * @since 1.2
+		 * @return getThresholdsの順のPrecision
+		 */
+		public double[] getPrecisions(){
+			double[] res = new double[thresholds.length];
+			for(int i=0;i<res.length;i++) res[i] = truePositives[i]*1.0/(truePositives[i]+falsePositives[i]);
+			return res;
+		}
+
+		/**
+		 * 各閾値でのRecall(真陽性率)を取得する．
+		 * @since 1.2
+		 * @return getThresholdsの順のRecall，陽性がない場合は0
+		 */
+		public double[] getRecalls(){
+			double[] res = new double[thresholds.length];
+			if(positives.length==0) return res;
+			for(int i=0;i<res.length;i++) res[i] = truePositives[i]*1.0/positives.length;
+			return res;
+		}
+
+		/**
+		 * 各閾値での偽陽性率を取得する．
+		 * @since 1.2
+		 * @return getThresholdsの順の偽陽性率，陰性がない場合は0
+		 */
+		public double[] getFalsePositiveRates(){
+			double[] res = new double[thresholds.length];
+			if(negatives.length==0) return res;
+			for(int i=0;i<res.length;i++) res[i] = falsePositives[i]*1.0/negatives.length;
+			return res;
+		}
+
+		/**
+		 * 各閾値での重み付きのF値を取得する．
+		 * @since 1.2
+		 * @param beta Recallの重み
+		 * @return getThresholdsの順のF値
+		 */
+		public double[] getFmeasures(double beta){
+			double[] precision = getPrecisions();
+			double[] recall = getRecalls();
+			double[] res = new double[thresholds.length];
+			for(int i=0;i<res.length;i++) res[i] = getFmeasure(precision[i], recall[i], beta);
+			return res;
+		}
+
+		/**
+		 * ROC曲線の下側の面積(AUC)を取得する．
+		 * <p>
+		 * 同じスコアの陽性と陰性は1/2として数えます．
+		 * </p>
+		 * @since 1.2
+		 * @return AUC，陽性または陰性がない場合はNaN
+		 */
+		public double getRocAuc(){
+			if(positives.length==0 || negatives.length==0) return Double.NaN;
+			double area = 0;
+			long prevTp = 0;
+			long prevFp = 0;
+			for(int i=0;i<thresholds.length;i++){
+				area += (double)(falsePositives[i]-prevFp)*(truePositives[i]+prevTp);
+				prevTp = truePositives[i];
+				prevFp = falsePositives[i];
+			}
+			return area/2/positives.length/negatives.length;
+		}
+
+		/**
+		 * Average Precision(Recallの増分で重み付けしたPrecisionの和)を取得する．
+		 * @since 1.2
+		 * @return Average Precision，陽性がない場合はNaN
+		 */
+		public double getAveragePrecision(){
+			if(positives.length==0) return Double.NaN;
+			double sum = 0;
+			long prevTp = 0;
+			for(int i=0;i<thresholds.length;i++){
+				long tp = truePositives[i];
+				sum += (tp-prevTp)*(tp*1.0/(tp+falsePositives[i]));
+				prevTp = tp;
+			}
+			return sum/positives.length;
+		}
+
+		/**
+		 * 指定した閾値での混同行列を取得する．
+		 * @since 1.2
+		 * @param threshold 閾値(スコアがこれ以上を陽性と予測)
+		 * @return 混同行列
+		 */
+		public ConfusionMatrix evaluate(double threshold){
+			long tp = positives.length-lowerBound(positives, threshold);
+			long fp = negatives.length-lowerBound(negatives, threshold);
+			return new ConfusionMatrix(tp, fp, positives.length-tp, negatives.length-fp);
+		}
+
+		/**
+		 * 指定した各閾値での混同行列を取得する．
+		 * @since 1.2
+		 * @param thresholds 閾値
+		 * @return 閾値の順の混同行列
+		 */
+		public ConfusionMatrix[] evaluate(double[] thresholds){
+			ConfusionMatrix[] res = new ConfusionMatrix[thresholds.length];
+			for(int i=0;i<res.length;i++) res[i] = evaluate(thresholds[i]);
+			return res;
+		}
+
+		/**
+		 * 昇順の配列で，値以上となる最初の位置を得る．
+		 * @since 1.2
+		 * @param a 昇順の配列
+		 * @param value 値
+		 * @return 位置
+		 */
+		private static int lowerBound(double[] a, double value){
+			int lo = 0;
+			int hi = a.length;
+			while(lo<hi){
+				int mid = (lo+hi)>>>1;
+				if(a[mid]<value) lo = mid+1;
+				else hi = mid;
+			}
+			return lo;
+		}
+	}
+
+	/**
+	 * 混同行列．
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static final class ConfusionMatrix {
+		private final long truePositive;
+		private final long falsePositive;
+		private final long falseNegative;
+		private final long trueNegative;
+
+		/**
+		 * 混同行列を作成する．
+		 * @since 1.2
+		 * @param truePositive 真陽性数
+		 * @param falsePositive 偽陽性数
+		 * @param falseNegative 偽陰性数
+		 * @param trueNegative 真陰性数
+		 */
+		public ConfusionMatrix(long truePositive, long falsePositive, long falseNegative, long trueNegative){
+			this.truePositive = truePositive;
+			this.falsePositive = falsePositive;
+			this.falseNegative = falseNegative;
+			this.trueNegative = trueNegative;
+		}
+
+		/**
+		 * 真陽性数を取得する．
+		 * @since 1.2
+		 * @return 真陽性数
+		 */
+		public long getTruePositive(){
+			return truePositive;
+		}
+
+		/**
+		 * 偽陽性数を取得する．
+		 * @since 1.2
+		 * @return 偽陽性数
+		 */
+		public long getFalsePositive(){
+			return falsePositive;
+		}
+
+		/**
+		 * 偽陰性数を取得する．
+		 * @since 1.2
+		 * @return 偽陰性数
+		 */
+		public long getFalseNegative(){
+			return falseNegative;
+		}
+
+		/**
+		 * 真陰性数を取得する．
+		 * @since 1.2
+		 * @return 真陰性数
+		 */
+		public long getTrueNegative(){
+			return trueNegative;
+		}
+
+		/**
+		 * Precisionを取得する．
+		 * @since 1.2
+		 * @return Precision，陽性と予測したものがない場合は1
+		 */
+		public double getPrecision(){
+			long predicted = truePositive+falsePositive;
+			return predicted==0 ? 1 : truePositive*1.0/predicted;
+		}
+
+		/**
+		 * Recallを取得する．
+		 * @since 1.2
+		 * @return Recall，陽性がない場合は0
+		 */
+		public double getRecall(){
+			long actual = truePositive+falseNegative;
+			return actual==0 ? 0 : truePositive*1.0/actual;
+		}
+
+		/**
+		 * 正解率を取得する．
+		 * @since 1.2
+		 * @return 正解率
+		 */
+		public double getAccuracy(){
+			return (truePositive+trueNegative)*1.0/(truePositive+falsePositive+falseNegative+trueNegative);
+		}
+
+		/**
+		 * F値を取得する．
+		 * @since 1.2
+		 * @return F値
+		 */
+		public double getFmeasure(){
+			return KoikeLibrary.getFmeasure(getPrecision(), getRecall());
+		}
+
+		/**
+		 * 重み付きのF値を取得する．
+		 * @since 1.2
+		 * @param beta Recallの重み
+		 * @return F-beta
+		 */
+		public double getFmeasure(double beta){
+			return KoikeLibrary.getFmeasure(getPrecision(), getRecall(), beta);
+		}
+
+		@Override
+		public String toString(){
+			return "TP="+truePositive+", FP="+falsePositive+", FN="+falseNegative+", TN="+trueNegative;
+		}
+	}
+
+	/**
+	 * mapの平均値，最大値，最小値を出力する．
+	 * <p>
+	 * 1.2より平均値はSummaryStatisticsで集計し，総和がオーバーフローしなくなりました．
+	 * 個数が0以下のkeyは平均値に含めません．<br>
+	 * 最大値と最小値は従来通り全てのkeyから求めるため，
+	 * 空の場合は平均値NaN，最大値Integer.MIN_VALUE，最小値Integer.MAX_VALUEを出力します．
+	 * </p>
+	 * @since 1.0
+	 * @param map 対象のmap
+	 */
+	public static void printAveMaxMin(Map<Integer, Integer> map) {
+		SummaryStatistics stat = new SummaryStatistics();
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for(Entry<Integer, Integer> e : map.entrySet()){
+			int key = e.getKey();
+			stat.accept(key, e.getValue());
+			max = Math.max(max, key);
+			min = Math.min(min, key);
+		}
+		KoikeLibrary.printAveMaxMin(stat.getAverage(), max, min);
+	}
+
+	/**
+	 * listの平均値，最大値，最小値を出力する．
+	 * <p>
+	 * 1.2よりSummaryStatisticsにより一度の走査で集計し，総和がオーバーフローしなくなりました．
+	 * </p>
+	 * @since 1.0
+	 * @param list 対象のlist
+	 * @throws NoSuchElementException 空の場合(従来通り，何も出力しません)
+	 */
+	public static void printAveMaxMin(List<Integer> list) {
+		if(list.isEmpty()) throw new NoSuchElementException();
+		SummaryStatistics stat = new SummaryStatistics();
+		for(int i=0, size=list.size();i<size;i++) stat.accept(list.get(i).intValue());
+		printAveMaxMin(stat);
+	}
+
+	/**
+	 * 集計結果の平均値，最大値，最小値を出力する．
+	 * <p>
+	 * 整数のみを集計した場合，最大値と最小値は整数で出力されます．<br>
+	 * 空の場合は平均値NaN，最大値-Infinity，最小値Infinityを出力します．
+	 * </p>
+	 * @since 1.2
+	 * @param stat 集計結果
+	 */
+	public static void printAveMaxMin(SummaryStatistics stat) {
+		if(stat.isIntegral() && stat.getCount()>0){
+			KoikeLibrary.printAveMaxMin(stat.getAverage(), (long)stat.getMax(), (long)stat.getMin());
+			return;
+		}
+		System.out.println("Average\t : "+stat.getAverage());
+		System.out.println("Max\t : "+stat.getMax());
+		System.out.println("Min\t : "+stat.getMin());
+	}
+
+	/**
+	 * 直近の値の平均値，最大値，最小値を出力する．
+	 * @since 1.2
+	 * @param window 対象のSlidingWindowStatistics
+	 */
+	public static void printAveMaxMin(SlidingWindowStatistics window) {
+		System.out.println("Average\t : "+window.getAverage());
+		System.out.println("Max\t : "+window.getMax());
+		System.out.println("Min\t : "+window.getMin());
+	}
+
+	/**
+	 * 平均値，最大値，最小値の説明書きを付加した状態で出力する．
+	 * @since 1.0
+	 * @param ave 平均値
+	 * @param max 最大値
+	 * @param min 最小値
+	 */
+	private static void printAveMaxMin(double ave, long max, long min){
+		System.out.println("Average\t : "+ave);
+		System.out.println("Max\t : "+max);
+		System.out.println("Min\t : "+min);
+	}
+
+	/**
+	 * リスト内要素の平均値を出力する．
+	 * <p>
+	 * 1.2よりSummaryStatisticsで集計し，総和がオーバーフローしなくなりました．
+	 * </p>
+	 * @since 1.0
+	 * @param list 対象のリスト
+	 */
+	public static void printAverage(List<Integer> list){
+		SummaryStatistics stat = new SummaryStatistics();
+		for(int i=0, size=list.size();i<size;i++) stat.accept(list.get(i).intValue());
+		printAverage(stat);
+	}
+
+	/**
+	 * 集計結果の平均値を出力する．
+	 * @since 1.2
+	 * @param stat 集計結果
+	 */
+	public static void printAverage(SummaryStatistics stat){
+		System.out.println("Average : "+stat.getAverage());
+	}
+
+	/**
+	 * 要約統計量の集計．
+	 * <p>
+	 * 個数，総和，平均，分散，最小値，最大値を一度の走査で集計します．<br>
+	 * 整数の総和はlongで，実数の総和は補償付き加算(Neumaier)で誤差を抑えて求め，
+	 * 分散はWelfordの方法で求めます．<br>
+	 * int[]やdouble[]の他，IntStreamなどのforEachやcollectにも渡せます．<br>
+	 * スレッドセーフではないため，スレッドごとに集計して最後にmergeで併合してください．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class SummaryStatistics implements IntConsumer, LongConsumer, DoubleConsumer {
+		private long count;
+		private long longSum;
+		private double doubleSum;
+		private double compensation;
+		private boolean integral = true;
+		private double mean;
+		private double m2;
+		private double min = Double.POSITIVE_INFINITY;
+		private double max = Double.NEGATIVE_INFINITY;
+
+		/**
+		 * 空の集計を作成する．
+		 * @since 1.2
+		 */
+		public SummaryStatistics(){
+		}
+
+		/**
+		 * 整数値を集計する．
+		 * @since 1.2
+		 * @param value 値
+		 */
+		@Override
+		public void accept(int value){
+			accept((long)value, 1);
+		}
+
+		/**
+		 * 整数値を集計する．
+		 * @since 1.2
+		 * @param value 値
+		 */
+		@Override
+		public void accept(long value){
+			accept(value, 1);
+		}
+
+		/**
+		 * 実数値を集計する．
+		 * @since 1.2
+		 * @param value 値
+		 */
+		@Override
+		public void accept(double value){
+			accept(value, 1);
+		}
+
+		/**
+		 * 整数値を重み(個数)付きで集計する．
+		 * @since 1.2
+		 * @param value 値
+		 * @param weight 重み，0以下の場合は集計しない
+		 */
+		public void accept(long value, long weight){
+			if(weight<=0) return;
+			longSum += value*weight;
+			update(value, weight);
+		}
+
+		/**
+		 * 実数値を重み(個数)付きで集計する．
+		 * @since 1.2
+		 * @param value 値
+		 * @param weight 重み，0以下の場合は集計しない
+		 */
+		public void accept(double value, long weight){
+			if(weight<=0) return;
+			integral = false;
+			addDouble(value*weight);
+			update(value, weight);
+		}
+
+		/**
+		 * int型配列の全ての値を集計する．
+		 * @since 1.2
+		 * @param values 値
+		 */
+		public void accept(int[] values){
+			for(int v : values) accept((long)v, 1);
+		}
+
+		/**
+		 * double型配列の全ての値を集計する．
+		 * @since 1.2
+		 * @param values 値
+		 */
+		public void accept(double[] values){
+			for(double v : values) accept(v, 1);
+		}
+
+		/**
+		 * 他の集計を併合する．
+		 * <p>
+		 * 分散は二つの集計の平均と偏差平方和から求めるため，併合後も一度に集計した場合と同等の精度です．
+		 * </p>
+		 * @since 1.2
+		 * @param other 併合する集計
+		 */
+		public void merge(SummaryStatistics other){
+			if(other.count==0) return;
+			longSum += other.longSum;
+			addDouble(other.doubleSum);
+			addDouble(other.compensation);
+			integral &= other.integral;
+			long n = count+other.count;
+			double delta = other.mean-mean;
+			mean += delta*other.count/n;
+			m2 += other.m2+delta*delta*((double)count*other.count/n);
+			count = n;
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+		}
+
+		/**
+		 * 個数を取得する．
+		 * @since 1.2
+		 * @return 個数
+		 */
+		public long getCount(){
+			return count;
+		}
+
+		/**
+		 * 総和を取得する．
+		 * @since 1.2
+		 * @return 総和
+		 */
+		public double getSum(){
+			return longSum+(doubleSum+compensation);
+		}
+
+		/**
+		 * 整数のみを集計した場合の総和を取得する．
+		 * @since 1.2
+		 * @return 整数値の総和
+		 */
+		public long getLongSum(){
+			return longSum;
+		}
+
+		/**
+		 * 平均値を取得する．
+		 * @since 1.2
+		 * @return 平均値，空の場合はNaN
+		 */
+		public double getAverage(){
+			if(count==0) return Double.NaN;
+			if(integral) return longSum*1.0/count;
+			return getSum()/count;
+		}
+
+		/**
+		 * 分散(母分散)を取得する．
+		 * @since 1.2
+		 * @return 分散，空の場合はNaN
+		 */
+		public double getVariance(){
+			return count==0 ? Double.NaN : m2/count;
+		}
+
+		/**
+		 * 不偏分散を取得する．
+		 * @since 1.2
+		 * @return 不偏分散，個数が2未満の場合はNaN
+		 */
+		public double getSampleVariance(){
+			return count<2 ? Double.NaN : m2/(count-1);
+		}
+
+		/**
+		 * 標準偏差(母分散の平方根)を取得する．
+		 * @since 1.2
+		 * @return 標準偏差，空の場合はNaN
+		 */
+		public double getStandardDeviation(){
+			return Math.sqrt(getVariance());
+		}
+
+		/**
+		 * 最小値を取得する．
+		 * @since 1.2
+		 * @return 最小値，空の場合は正の無限大
+		 */
+		public double getMin(){
+			return min;
+		}
+
+		/**
+		 * 最大値を取得する．
+		 * @since 1.2
+		 * @return 最大値，空の場合は負の無限大
+		 */
+		public double getMax(){
+			return max;
+		}
+
+		/**
+		 * 整数のみを集計したかどうか．
+		 * @since 1.2
+		 * @return 整数のみの場合はtrue
+		 */
+		public boolean isIntegral(){
+			return integral;
+		}
+
+		@Override
+		public String toString(){
+			return "count="+count+", sum="+getSum()+", average="+getAverage()
+					+", variance="+getVariance()+", min="+min+", max="+max;
+		}
+
+		/**
+		 * 実数の総和に補償付きで加算する．
+		 * @since 1.2
+		 * @param value 加算する値
+		 */
+		private void addDouble(double value){
+			double t = doubleSum+value;
+			if(Math.abs(doubleSum)>=Math.abs(value)) compensation += (doubleSum-t)+value;
+			else compensation += (value-t)+doubleSum;
+			doubleSum = t;
+		}
+
+		/**
+		 * 個数，平均，偏差平方和，最小値，最大値を更新する．
+		 * @since 1.2
+		 * @param value 値
+		 * @param weight 重み
+		 */
+		private void update(double value, long weight){
+			count += weight;
+			double delta = value-mean;
+			mean += delta*weight/count;
+			m2 += delta*(value-mean)*weight;
+			if(value<min) min = value;
+			if(value>max) max = value;
+		}
+	}
+
+	/**
+	 * スライディングウィンドウの統計量．
+	 * <p>
+	 * 直近の一定個数，または直近の一定時間の値について，個数，総和，平均値，最小値，最大値，中央値を求めます．<br>
+	 * 値はプリミティブ型のリングバッファに保持され，値の追加ごとのオブジェクトの生成はありません．<br>
+	 * 総和は追加と削除の差分で更新し，誤差が蓄積しないよう一定回数ごとに計算し直します．<br>
+	 * 最小値と最大値は単調なインデックスの両端キューで管理するため，追加はならしO(1)です．<br>
+	 * 中央値は問い合わせごとに，あらかじめ確保した作業配列上での選択アルゴリズムによりO(ウィンドウの大きさ)で求めます．<br>
+	 * スレッドセーフではありません．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class SlidingWindowStatistics {
+		/** 時間のウィンドウのリングバッファの初期容量 */
+		private static final int INITIAL_CAPACITY = 1024;
+
+		/** 個数のウィンドウの大きさ，時間のウィンドウの場合はInteger.MAX_VALUE */
+		private final int maxCount;
+		/** 時間のウィンドウの長さ[ms]，個数のウィンドウの場合は0 */
+		private final long window;
+		private double[] values;
+		/** 各値の時刻，個数のウィンドウの場合はnull */
+		private long[] times;
+		private int mask;
+		/** 最も古い値と次に追加する値の通し番号 */
+		private long first;
+		private long next;
+		/** 最小値と最大値の候補の通し番号の両端キュー */
+		private long[] minDeque;
+		private long[] maxDeque;
+		private long minHead;
+		private long minTail;
+		private long maxHead;
+		private long maxTail;
+		private double sum;
+		private int removed;
+		private double[] scratch;
+
+		private SlidingWindowStatistics(int maxCount, long window, int capacity){
+			this.maxCount = maxCount;
+			this.window = window;
+			allocate(capacity);
+			if(window>0) times = new long[values.length];
+		}
+
+		/**
+		 * 直近の指定個数の値についての統計量を作成する．
+		 * @since 1.2
+		 * @param size ウィンドウの大きさ(個数)
+		 * @return SlidingWindowStatistics
+		 */
+		public static SlidingWindowStatistics ofCount(int size){
+			if(size<=0) throw new IllegalArgumentException("ウィンドウの大きさは1以上を指定してください．");
+			return new SlidingWindowStatistics(size, 0, size);
+		}
+
+		/**
+		 * 直近の指定時間の値についての統計量を作成する．
+		 * <p>
+		 * リングバッファはウィンドウ内の値の数に応じて倍々に拡張されます．
+		 * </p>
+		 * @since 1.2
+		 * @param windowMillis ウィンドウの長さ[ms]
+		 * @return SlidingWindowStatistics
+		 */
+		public static SlidingWindowStatistics ofTime(long windowMillis){
+			if(windowMillis<=0) throw new IllegalArgumentException("ウィンドウの長さは1以上を指定してください．");
+			return new SlidingWindowStatistics(Integer.MAX_VALUE, windowMillis, INITIAL_CAPACITY);
+		}
+
+		/**
+		 * 現在時刻で値を追加する．
+		 * @since 1.2
+		 * @param value 追加する値(NaNは不可)
+		 */
+		public void add(double value){
+			add(value, System.currentTimeMillis());
+		}
+
+		/**
+		 * 時刻を指定して値を追加する．
+		 * <p>
+		 * 時間のウィンドウでは，時刻は単調増加である必要があり，
+		 * 指定時刻からウィンドウの長さ以上前の値は取り除かれます．<br>
+		 * 個数のウィンドウでは時刻は無視されます．
+		 * </p>
+		 * @since 1.2
+		 * @param value 追加する値(NaNは不可)
+		 * @param timeMillis 時刻[ms]
+		 */
+		public void add(double value, long timeMillis){
+			if(value!=value) throw new IllegalArgumentException("NaNは追加できません．");
+			if(times!=null){
+				expire(timeMillis);
+				if(next-first==values.length) grow();
+			}
+			else if(next-first==maxCount) removeOldest();
+			int index = (int)next & mask;
+			values[index] = value;
+			if(times!=null) times[index] = timeMillis;
+			while(minTail>minHead && values[(int)minDeque[(int)(minTail-1) & mask] & mask]>=value) minTail--;
+			minDeque[(int)minTail++ & mask] = next;
+			while(maxTail>maxHead && values[(int)maxDeque[(int)(maxTail-1) & mask] & mask]<=value) maxTail--;
+			maxDeque[(int)maxTail++ & mask] = next;
+			sum += value;
+			next++;
+		}
+
+		/**
+		 * 指定時刻からウィンドウの長さ以上前の値を取り除く．
+		 * <p>
+		 * 個数のウィンドウでは何もしません．
+		 * </p>
+		 * @since 1.2
+		 * @param timeMillis 時刻[ms]
+		 */
+		public void expire(long timeMillis){
+			if(times==null) return;
+			while(first<next && times[(int)first & mask]<=timeMillis-window) removeOldest();
+		}
+
+		/**
+		 * ウィンドウ内の値の個数を取得する．
+		 * @since 1.2
+		 * @return 個数
+		 */
+		public int getCount(){
+			return (int)(next-first);
+		}
+
+		/**
+		 * ウィンドウ内の値の総和を取得する．
+		 * @since 1.2
+		 * @return 総和
+		 */
+		public double getSum(){
+			return sum;
+		}
+
+		/**
+		 * ウィンドウ内の値の平均値を取得する．
+		 * @since 1.2
+		 * @return 平均値，空の場合はNaN
+		 */
+		public double getAverage(){
+			return first==next ? Double.NaN : sum/(next-first);
+		}
+
+		/**
+		 * ウィンドウ内の値の最小値を取得する．
+		 * @since 1.2
+		 * @return 最小値，空の場合はNaN
+		 */
+		public double getMin(){
+			return first==next ? Double.NaN : values[(int)minDeque[(int)minHead & mask] & mask];
+		}
+
+		/**
+		 * ウィンドウ内の値の最大値を取得する．
+		 * @since 1.2
+		 * @return 最大値，空の場合はNaN
+		 */
+		public double getMax(){
+			return first==next ? Double.NaN : values[(int)maxDeque[(int)maxHead & mask] & mask];
+		}
+
+		/**
+		 * ウィンドウ内の値の中央値を取得する．
+		 * <p>
+		 * 個数が偶数の場合は中央の二つの平均値で，getBoxPlotValueの中央値と同じです．
+		 * </p>
+		 * @since 1.2
+		 * @return 中央値，空の場合はNaN
+		 */
+		public double getMedian(){
+			int n = getCount();
+			if(n==0) return Double.NaN;
+			for(long seq=first;seq<next;seq++) scratch[(int)(seq-first)] = values[(int)seq & mask];
+			int goal = n-1;
+			int down = goal/2;
+			int up = goal-down;
+			int[] ranks = down==up ? new int[]{down} : new int[]{down, up};
+			select(scratch, 0, goal, ranks, 0, ranks.length, 2*(32-Integer.numberOfLeadingZeros(n)));
+			return (scratch[down]+scratch[up])*1.0/2;
+		}
+
+		/**
+		 * 最も古い値を取り除く．
+		 * <p>
+		 * 容量分の値を取り除くごとに総和を計算し直します．
+		 * </p>
+		 * @since 1.2
+		 */
+		private void removeOldest(){
+			sum -= values[(int)first & mask];
+			if(minDeque[(int)minHead & mask]==first) minHead++;
+			if(maxDeque[(int)maxHead & mask]==first) maxHead++;
+			first++;
+			if(++removed>=values.length){
+				removed = 0;
+				double s = 0;
+				for(long seq=first;seq<next;seq++) s += values[(int)seq & mask];
+				sum = s;
+			}
+		}
+
+		/**
+		 * 容量以上の2のべき乗の大きさで配列を確保する．
+		 * @since 1.2
+		 * @param capacity 容量
+		 */
+		private void allocate(int capacity){
+			int size = Integer.highestOneBit(Math.max(capacity, 2)-1)<<1;
+			values = new double[size];
+			minDeque = new long[size];
+			maxDeque = new long[size];
+			scratch = new double[size];
+			mask = size-1;
+		}
+
+		/**
+		 * リングバッファの容量を2倍にする．
+		 * @since 1.2
+		 */
+		private void grow(){
+			double[] oldValues = values;
+			long[] oldTimes = times;
+			long[] oldMin = minDeque;
+			long[] oldMax = maxDeque;
+			int oldMask = mask;
+			allocate(values.length*2);
+			times = new long[values.length];
+			for(long seq=first;seq<next;seq++){
+				values[(int)seq & mask] = oldValues[(int)seq & oldMask];
+				times[(int)seq & mask] = oldTimes[(int)seq & oldMask];
+			}
+			for(long i=minHead;i<minTail;i++) minDeque[(int)i & mask] = oldMin[(int)i & oldMask];
+			for(long i=maxHead;i<maxTail;i++) maxDeque[(int)i & mask] = oldMax[(int)i & oldMask];
+		}
+	}
+
+	/**
+	 * リスト内要素について，何がいくつ格納されているかで返す．
+	 * <p>
+	 * 1.2より内部ではIntHistogramで数えます．
+	 * </p>
+	 * @since 1.0
+	 * @param list 対象のlist
+	 * @return map<要素名,要素名に対する個数>
+	 */
+	public static Map<Integer, Integer> countElement(List<Integer> list){
+		return countHistogram(list).toSortedMap();
+	}
+
+	/**
+	 * リスト内要素について，何がいくつ格納されているかをIntHistogramで返す．
+	 * @since 1.2
+	 * @param list 対象のlist
+	 * @return 要素ごとの個数
+	 */
+	public static IntHistogram countHistogram(List<Integer> list){
+		IntHistogram hist = new IntHistogram();
+		for(Integer e : list) hist.add(e);
+		return hist;
+	}
+
+	/**
+	 * 配列内要素について，何がいくつ格納されているかをIntHistogramで返す．
+	 * <p>
+	 * countElement(List)と異なり，戻り値はMapではなくIntHistogramです．
+	 * 要素の昇順のMapが必要な場合はIntHistogram.toSortedMap()で変換してください．<br>
+	 * 要素の値の範囲が要素数に対して狭い場合は，配列による数え上げを行います．
+	 * </p>
+	 * @since 1.2
+	 * @param array 対象の配列
+	 * @return 要素ごとの個数
+	 */
+	public static IntHistogram countElement(int[] array){
+		return IntHistogram.of(array, 0, array.length);
+	}
+
+	/**
+	 * 配列内要素について，何がいくつ格納されているかを並列に数える．
+	 * <p>
+	 * 配列を共通プールの並列度の数に分割して数えます．<br>
+	 * 結果はcountElement(int[])と同じです．
+	 * </p>
+	 * @since 1.2
+	 * @param array 対象の配列
+	 * @return 要素ごとの個数
+	 * @see #countElementParallel(int[], int)
+	 */
+	public static IntHistogram countElementParallel(int[] array){
+		return countElementParallel(array, ForkJoinPool.getCommonPoolParallelism());
+	}
+
+	/**
+	 * 配列内要素について，何がいくつ格納されているかをn分割して並列に数える．
+	 * <p>
+	 * 各区間はForkJoinPoolの共通プールのワーカーが専用のIntHistogramで数え，
+	 * 区間の二分木に沿って併合されるため，共有された表への競合はありません．<br>
+	 * 要素の範囲が区間の要素数の2倍以下であれば，各区間は配列で数えます．<br>
+	 * 結果はcountElement(int[])と同じです．
+	 * </p>
+	 * @since 1.2
+	 * @param array 対象の配列
+	 * @param n 分割数
+	 * @return 要素ごとの個数
+	 */
+	public static IntHistogram countElementParallel(int[] array, int n){
+		n = Math.max(1, Math.min(n, array.length/(1<<16)));
+		if(n==1) return countElement(array);
+		IntSummaryStatistics stat = Arrays.stream(array).parallel().summaryStatistics();
+		long range = (long)stat.getMax()-stat.getMin()+1;
+		boolean dense = range<=IntHistogram.DENSE_LIMIT && range<=2L*array.length/n;
+		long[] bounds = getRangeDivideN(n, array.length);
+		return ForkJoinPool.commonPool().invoke(
+				new HistogramTask(array, bounds, 0, n, stat.getMin(), stat.getMax(), dense));
+	}
+
+	/**
+	 * 区切り文字で区切られたファイルの指定した列について，何がいくつ格納されているかを並列に数える．
+	 * <p>
+	 * 列はreadIntColumnで読み込まれます．<br>
+	 * 結果はreadIntColumnとcountElement(int[])の組み合わせと同じです．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param delimiter 区切り文字(ASCII文字)
+	 * @param index 列番号
+	 * @return 要素ごとの個数，失敗時はnull
+	 * @see #readIntColumn(String, char, int)
+	 */
+	public static IntHistogram countElementParallel(String path, char delimiter, int index){
+		int[] column = readIntColumn(path, delimiter, index);
+		return column==null ? null : countElementParallel(column);
+	}
+
+	/**
+	 * countElementParallelの区間集計タスク．
+	 * <p>
+	 * 区間[lo,hi)を二分して再帰的に数え，小さい方の度数分布を大きい方へ併合します．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	@SuppressWarnings("serial")
+	private static class HistogramTask extends RecursiveTask<IntHistogram> {
+		private final int[] array;
+		private final long[] bounds;
+		private final int lo;
+		private final int hi;
+		private final int min;
+		private final int max;
+		private final boolean dense;
+
+		HistogramTask(int[] array, long[] bounds, int lo, int hi, int min, int max, boolean dense){
+			this.array = array;
+			this.bounds = bounds;
+			this.lo = lo;
+			this.hi = hi;
+			this.min = min;
+			this.max = max;
+			this.dense = dense;
+		}
+
+		@Override
+		protected IntHistogram compute(){
+			if(hi-lo>1){
+				int mid = (lo+hi)>>>1;
+				HistogramTask left = new HistogramTask(array, bounds, lo, mid, min, max, dense);
+				HistogramTask right = new HistogramTask(array, bounds, mid, hi, min, max, dense);
+				left.fork();
+				IntHistogram r = right.compute();
+				IntHistogram l = left.join();
+				if(l.size()<r.size()){
+					r.merge(l);
+					return r;
+				}
+				l.merge(r);
+				return l;
+			}
+			IntHistogram hist = dense ? new IntHistogram(min, max) : new IntHistogram();
+			hist.addAll(array, (int)bounds[lo], (int)bounds[hi]);
+			return hist;
+		}
+	}
+
+	/**
+	 * リスト内要素について，何がいくつ，全体に対してどれくらいの割合で格納されているか出力する．
 	 * <p>
 	 * e.g. list {1,1,1,2,2,3} であれば，<br>
 	 * map {value1=3elements (0.5%), value2=2elements (0.33%), value3=1elements (0.17%)}<br>
 	 * が出力される．
 	 * </p>
 	 * @since 1.0
-	 * @param list 対象のlist
+	 * @param list 対象のlist
+	 */
+	public static void printRate(List<Integer> list){
+		printRate(countHistogram(list));
+	}
+
+	/**
+	 * IntHistogramの要素について，何がいくつ，全体に対してどれくらいの割合で格納されているか出力する．
+	 * @since 1.2
+	 * @param hist 対象のIntHistogram
+	 * @see #printRate(List)
+	 */
+	public static void printRate(IntHistogram hist){
+		long size = hist.getTotal();
+		int[] keys = hist.getSortedKeys();
+		for(int key : keys){
+			int count = hist.get(key);
+			double rto = (count*100/(double)size);
+			System.out.printf("key : < %d >\t...(%4d) [%.2f%s]\n",key,count,rto,"%");
+		}
+	}
+
+	/**
+	 * リスト内要素について，何が何個格納されているのを何種類あるか と全体に対しての割合を出力する．
+	 * <p>
+	 * e.g. list {1,1,1,2,2,3,3,4,4,5,6} であれば，<br>
+	 * value種類数(species)は，6である．
+	 * map {1elements=2species (0.33%), 2elements=3species (0.5%), 3elements=1species (0.17%)}<br>
+	 * が出力される．
+	 * </p>
+	 * @since 1.0
+	 * @param list 対象のリスト
+	 */
+	public static void printCountRate(List<Integer> list){
+		printCountRate(countHistogram(list));
+	}
+
+	/**
+	 * IntHistogramの要素について，何が何個格納されているのを何種類あるか と全体に対しての割合を出力する．
+	 * @since 1.2
+	 * @param hist 対象のIntHistogram
+	 * @see #printCountRate(List)
+	 */
+	public static void printCountRate(IntHistogram hist){
+		IntHistogram counts = countValue(hist);
+		long size = hist.getTotal();
+		for(int value : counts.getSortedKeys()){
+			int count = counts.get(value);
+			double rto = (count*100/(double)size);
+
+			System.out.printf("value : < %d >\t...(%4d) [%.2f%s]\n",value,count,rto,"%");
+		}
+	}
+
+	/**
+	 * mapのvalueについて，何がいくつ格納されているかを返す．
+	 * @since 1.0
+	 * @param map 対象となるmap
+	 * @return map<valueに格納されている要素名,要素名に対する個数>
+	 */
+	public static Map<Integer, Integer> countValue(Map<Integer, Integer> map){
+		Map<Integer, Integer> ans = new TreeMap<Integer, Integer>();
+		for(Integer key : map.keySet()){
+			Integer value = map.get(key);
+			if(ans.containsKey(value)){
+				Integer before = ans.get(value);
+				ans.put(value, ++before);
+			}
+			else ans.put(value, 1);
+		}
+		return ans;
+	}
+
+	/**
+	 * mapのvalue総和を求める．
+	 * @since 1.0
+	 * @param map 対象となるmap
+	 * @return value総和
+	 */
+	public static Integer getValueSum(Map<Integer, Integer> map){
+		int sum = 0;
+		for(Integer key : map.keySet()){
+			sum += map.get(key);
+		}
+		return sum;
+	}
+
+	/**
+	 * IntHistogramの個数について，何がいくつ格納されているかを返す．
+	 * @since 1.2
+	 * @param hist 対象のIntHistogram
+	 * @return 個数ごとの要素の種類数
+	 * @see #countValue(Map)
+	 */
+	public static IntHistogram countValue(IntHistogram hist){
+		final IntHistogram ans = new IntHistogram();
+		hist.forEach(new IntHistogram.Visitor(){
+			@Override
+			public void visit(int key, int count){
+				ans.add(count);
+			}
+		});
+		return ans;
+	}
+
+	/**
+	 * IntHistogramの個数の総和を求める．
+	 * @since 1.2
+	 * @param hist 対象のIntHistogram
+	 * @return 個数の総和
+	 * @see #getValueSum(Map)
+	 */
+	public static long getValueSum(IntHistogram hist){
+		return hist.getTotal();
+	}
+
+	/**
+	 * int→intの度数分布．
+	 * <p>
+	 * 要素ごとの個数を，オブジェクトを作らずにオープンアドレス法のハッシュ表で数えます．<br>
+	 * 要素の範囲を指定して作成した場合は，範囲の大きさの配列で直接数えます．<br>
+	 * 要素の昇順の並びは，getSortedKeysやtoSortedMapで求められた時にのみ作られます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class IntHistogram {
+		/** 配列で数える場合の要素の範囲の上限 */
+		static final int DENSE_LIMIT = 1 << 24;
+
+		/** 配列で数える場合の最小の要素，ハッシュ表の場合は使わない */
+		private final int offset;
+		/** 配列で数える場合の個数，ハッシュ表の場合はnull */
+		private final int[] dense;
+		private int[] keys;
+		/** ハッシュ表の個数，0は空きを表す */
+		private int[] counts;
+		private int shift;
+		private int size;
+		private long total;
+
+		/**
+		 * 度数分布要素の訪問．
+		 * @author T.Koike
+		 * @since 1.2
+		 */
+		public static interface Visitor {
+			/**
+			 * 要素と個数を受け取る．
+			 * @since 1.2
+			 * @param key 要素
+			 * @param count 個数
+			 */
+			void visit(int key, int count);
+		}
+
+		/**
+		 * ハッシュ表で数える空の度数分布を作成する．
+		 * @since 1.2
+		 */
+		public IntHistogram(){
+			this.offset = 0;
+			this.dense = null;
+			this.keys = new int[16];
+			this.counts = new int[16];
+			this.shift = 32-4;
+		}
+
+		/**
+		 * 要素の範囲を指定し，配列で数える空の度数分布を作成する．
+		 * @since 1.2
+		 * @param min 最小の要素
+		 * @param max 最大の要素
+		 */
+		public IntHistogram(int min, int max){
+			long range = (long)max-min+1;
+			if(range<=0 || range>DENSE_LIMIT) throw new IllegalArgumentException("要素の範囲が大きすぎます．");
+			this.offset = min;
+			this.dense = new int[(int)range];
+		}
+
+		/**
+		 * 配列の区間[from,to)の要素を数えた度数分布を作成する．
+		 * <p>
+		 * 要素の範囲が要素数の2倍以下であれば配列で，そうでなければハッシュ表で数えます．
+		 * </p>
+		 * @since 1.2
+		 * @param array 対象の配列
+		 * @param from 区間の開始位置
+		 * @param to 区間の終了位置
+		 * @return 度数分布
+		 */
+		static IntHistogram of(int[] array, int from, int to){
+			int min = Integer.MAX_VALUE;
+			int max = Integer.MIN_VALUE;
+			for(int i=from;i<to;i++){
+				int v = array[i];
+				if(v<min) min = v;
+				if(v>max) max = v;
+			}
+			long range = (long)max-min+1;
+			IntHistogram hist;
+			if(to>from && range<=DENSE_LIMIT && range<=2L*(to-from)) hist = new IntHistogram(min, max);
+			else hist = new IntHistogram();
+			hist.addAll(array, from, to);
+			return hist;
+		}
+
+		/**
+		 * 配列で数えているかどうか．
+		 * @since 1.2
+		 * @return 配列で数えている場合はtrue
+		 */
+		public boolean isDense(){
+			return dense!=null;
+		}
+
+		/**
+		 * 要素を1つ数える．
+		 * @since 1.2
+		 * @param key 要素
+		 */
+		public void add(int key){
+			add(key, 1);
+		}
+
+		/**
+		 * 要素を指定した個数だけ数える．
+		 * @since 1.2
+		 * @param key 要素
+		 * @param count 個数(1以上)
+		 * @throws IllegalArgumentException 個数が0以下の場合，配列による数え上げで範囲外の要素の場合
+		 */
+		public void add(int key, int count){
+			if(count<=0) throw new IllegalArgumentException("個数は1以上を指定してください．"+count);
+			if(dense!=null){
+				int i = key-offset;
+				if(i<0 || i>=dense.length) throw new IllegalArgumentException("範囲外の要素です．"+key);
+				if(dense[i]==0) size++;
+				dense[i] += count;
+				total += count;
+				return;
+			}
+			total += count;
+			int mask = keys.length-1;
+			int i = (key*0x9E3779B9)>>>shift;
+			while(counts[i]!=0){
+				if(keys[i]==key){
+					counts[i] += count;
+					return;
+				}
+				i = (i+1) & mask;
+			}
+			keys[i] = key;
+			counts[i] = count;
+			if(++size*2>keys.length) rehash();
+		}
+
+		/**
+		 * 配列の区間[from,to)の要素を数える．
+		 * <p>
+		 * 配列による数え上げの場合は，範囲外の要素があれば何も数えずに例外をスローします．
+		 * </p>
+		 * @since 1.2
+		 * @param array 対象の配列
+		 * @param from 区間の開始位置
+		 * @param to 区間の終了位置
+		 */
+		public void addAll(int[] array, int from, int to){
+			if(dense!=null){
+				for(int i=from;i<to;i++){
+					int j = array[i]-offset;
+					if(j<0 || j>=dense.length) throw new IllegalArgumentException("範囲外の要素です．"+array[i]);
+				}
+				for(int i=from;i<to;i++){
+					if(dense[array[i]-offset]++==0) size++;
+				}
+				total += to-from;
+				return;
+			}
+			for(int i=from;i<to;i++) add(array[i], 1);
+		}
+
+		/**
+		 * 他の度数分布の個数を加える．
+		 * @since 1.2
+		 * @param other 加える度数分布
+		 */
+		public void merge(IntHistogram other){
+			if(dense!=null && other.dense!=null && offset==other.offset && dense.length==other.dense.length){
+				int[] d = other.dense;
+				int added = 0;
+				for(int i=0;i<d.length;i++){
+					if(d[i]==0) continue;
+					if(dense[i]==0) added++;
+					dense[i] += d[i];
+				}
+				size += added;
+				total += other.total;
+				return;
+			}
+			other.forEach(new Visitor(){
+				@Override
+				public void visit(int key, int count){
+					add(key, count);
+				}
+			});
+		}
+
+		/**
+		 * 要素の個数を取得する．
+		 * @since 1.2
+		 * @param key 要素
+		 * @return 個数，存在しない場合は0
+		 */
+		public int get(int key){
+			if(dense!=null){
+				int i = key-offset;
+				return i<0 || i>=dense.length ? 0 : dense[i];
+			}
+			int mask = keys.length-1;
+			int i = (key*0x9E3779B9)>>>shift;
+			while(counts[i]!=0){
+				if(keys[i]==key) return counts[i];
+				i = (i+1) & mask;
+			}
+			return 0;
+		}
+
+		/**
+		 * 要素の種類数を取得する．
+		 * @since 1.2
+		 * @return 種類数
+		 */
+		public int size(){
+			return size;
+		}
+
+		/**
+		 * 個数の総和を取得する．
+		 * @since 1.2
+		 * @return 個数の総和
+		 */
+		public long getTotal(){
+			return total;
+		}
+
+		/**
+		 * 全ての要素と個数を訪問する．
+		 * <p>
+		 * 配列で数えている場合は昇順に，ハッシュ表の場合は順不同に訪問します．
+		 * </p>
+		 * @since 1.2
+		 * @param visitor 訪問する処理
+		 */
+		public void forEach(Visitor visitor){
+			if(dense!=null){
+				for(int i=0;i<dense.length;i++){
+					if(dense[i]!=0) visitor.visit(i+offset, dense[i]);
+				}
+				return;
+			}
+			for(int i=0;i<keys.length;i++){
+				if(counts[i]!=0) visitor.visit(keys[i], counts[i]);
+			}
+		}
+
+		/**
+		 * 要素を昇順に並べて取得する．
+		 * @since 1.2
+		 * @return 昇順の要素の配列
+		 */
+		public int[] getSortedKeys(){
+			int[] res = new int[size];
+			int n = 0;
+			if(dense!=null){
+				for(int i=0;i<dense.length;i++){
+					if(dense[i]!=0) res[n++] = i+offset;
+				}
+				return res;
+			}
+			for(int i=0;i<keys.length;i++){
+				if(counts[i]!=0) res[n++] = keys[i];
+			}
+			Arrays.sort(res);
+			return res;
+		}
+
+		/**
+		 * 要素の昇順のMapに変換する．
+		 * @since 1.2
+		 * @return map<要素名,要素名に対する個数>
+		 */
+		public Map<Integer, Integer> toSortedMap(){
+			Map<Integer, Integer> map = new TreeMap<Integer, Integer>();
+			for(int key : getSortedKeys()) map.put(key, get(key));
+			return map;
+		}
+
+		/**
+		 * ハッシュ表の大きさを2倍にする．
+		 * @since 1.2
+		 */
+		private void rehash(){
+			int[] oldKeys = keys;
+			int[] oldCounts = counts;
+			keys = new int[oldKeys.length*2];
+			counts = new int[oldCounts.length*2];
+			shift--;
+			int mask = keys.length-1;
+			for(int j=0;j<oldKeys.length;j++){
+				if(oldCounts[j]==0) continue;
+				int i = (oldKeys[j]*0x9E3779B9)>>>shift;
+				while(counts[i]!=0) i = (i+1) & mask;
+				keys[i] = oldKeys[j];
+				counts[i] = oldCounts[j];
+			}
+		}
+	}
+
+
+	/**
+	 * SpaceSavingで数えた頻出要素について，上位k個の個数と全体に対する割合を，誤差の上限と共に出力する．
+	 * <p>
+	 * 出力される個数は真の個数以上で，真の個数との差は括弧内の誤差以下です．
+	 * </p>
+	 * @since 1.2
+	 * @param sketch 対象のSpaceSaving
+	 * @param k 出力する個数
+	 * @see #printRate(List)
+	 */
+	public static void printRate(SpaceSaving<?> sketch, int k){
+		long size = sketch.getTotal();
+		for(SpaceSaving.Counter<?> c : sketch.getTopK(k)){
+			double rto = (c.getCount()*100/(double)size);
+			System.out.printf("key : < %s >\t...(%4d) [%.2f%s] (error <= %d)\n",c.getItem(),c.getCount(),rto,"%",c.getError());
+		}
+	}
+
+	/**
+	 * HyperLogLogで数えた異なり数の推定値を，標準誤差と共に出力する．
+	 * @since 1.2
+	 * @param sketch 対象のHyperLogLog
+	 */
+	public static void printDistinctCount(HyperLogLog sketch){
+		System.out.printf("distinct : < %d >\t[±%.2f%s]\n",sketch.getEstimate(),sketch.getRelativeError()*100,"%");
+	}
+
+	/**
+	 * 頻出要素の近似集計(Space-Saving)．
+	 * <p>
+	 * 高々capacity個の要素のみを数えることで，要素の種類数によらず一定のメモリで頻出要素を求めます．<br>
+	 * 数えていない要素が現れた場合は，最も個数の少ない要素と置き換え，その個数を誤差として引き継ぎます．<br>
+	 * 各要素の個数の過大評価は高々 全体の個数/capacity であり，
+	 * 全体の個数/capacity より多く現れる要素は必ず残ります．<br>
+	 * 最小の要素はインデックス付きの最小ヒープで管理されます．<br>
+	 * 別々に集計したものはmergeで併合できます．<br>
+	 * スレッドセーフではありません．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 * @param <T> 要素の型
+	 */
+	public static class SpaceSaving<T> {
+		private final int capacity;
+		private final Map<T, Counter<T>> index;
+		private Counter<T>[] heap;
+		private int size;
+		private long total;
+
+		/**
+		 * 要素のカウンタ．
+		 * @author T.Koike
+		 * @since 1.2
+		 * @param <T> 要素の型
+		 */
+		public static final class Counter<T> {
+			private final T item;
+			private long count;
+			private long error;
+			private int position;
+
+			Counter(T item, long count, long error){
+				this.item = item;
+				this.count = count;
+				this.error = error;
+			}
+
+			/**
+			 * 要素を取得する．
+			 * @since 1.2
+			 * @return 要素
+			 */
+			public T getItem(){
+				return item;
+			}
+
+			/**
+			 * 個数(真の個数以上)を取得する．
+			 * @since 1.2
+			 * @return 個数
+			 */
+			public long getCount(){
+				return count;
+			}
+
+			/**
+			 * 個数の過大評価の上限を取得する．
+			 * <p>
+			 * 真の個数はgetCount()-getError()以上getCount()以下です．
+			 * </p>
+			 * @since 1.2
+			 * @return 誤差の上限
+			 */
+			public long getError(){
+				return error;
+			}
+
+			@Override
+			public String toString(){
+				return item+"="+count+"(error<="+error+")";
+			}
+		}
+
+		/**
+		 * 数える要素の最大数を指定して作成する．
+		 * @since 1.2
+		 * @param capacity 数える要素の最大数
+		 */
+		@SuppressWarnings("unchecked")
+		public SpaceSaving(int capacity){
+			if(capacity<=0) throw new IllegalArgumentException("容量は1以上を指定してください．");
+			this.capacity = capacity;
+			this.index = new HashMap<T, Counter<T>>(capacity*2);
+			this.heap = (Counter<T>[])new Counter<?>[capacity];
+		}
+
+		/**
+		 * 要素を1つ数える．
+		 * @since 1.2
+		 * @param item 要素
+		 */
+		public void offer(T item){
+			offer(item, 1);
+		}
+
+		/**
+		 * 要素を指定した個数だけ数える．
+		 * @since 1.2
+		 * @param item 要素
+		 * @param count 個数(1以上)
+		 */
+		public void offer(T item, long count){
+			total += count;
+			Counter<T> c = index.get(item);
+			if(c!=null){
+				c.count += count;
+				siftDown(c.position);
+				return;
+			}
+			if(size<capacity){
+				c = new Counter<T>(item, count, 0);
+				index.put(item, c);
+				heap[size] = c;
+				c.position = size;
+				siftUp(size++);
+				return;
+			}
+			Counter<T> min = heap[0];
+			index.remove(min.item);
+			c = new Counter<T>(item, min.count+count, min.count);
+			index.put(item, c);
+			heap[0] = c;
+			c.position = 0;
+			siftDown(0);
+		}
+
+		/**
+		 * 他の集計を併合する．
+		 * <p>
+		 * 一方にしか現れない要素は，もう一方の最小の個数(容量に満たない場合は0)を個数と誤差に加え，
+		 * 個数の多い順にcapacity個を残します．
+		 * </p>
+		 * @since 1.2
+		 * @param other 併合する集計
+		 */
+		public void merge(SpaceSaving<T> other){
+			long minThis = size<capacity ? 0 : heap[0].count;
+			long minOther = other.size<other.capacity ? 0 : other.heap[0].count;
+			Map<T, Counter<T>> merged = new HashMap<T, Counter<T>>();
+			for(int i=0;i<size;i++){
+				Counter<T> c = heap[i];
+				Counter<T> o = other.index.get(c.item);
+				if(o!=null) merged.put(c.item, new Counter<T>(c.item, c.count+o.count, c.error+o.error));
+				else merged.put(c.item, new Counter<T>(c.item, c.count+minOther, c.error+minOther));
+			}
+			for(int i=0;i<other.size;i++){
+				Counter<T> o = other.heap[i];
+				if(!merged.containsKey(o.item)) merged.put(o.item, new Counter<T>(o.item, o.count+minThis, o.error+minThis));
+			}
+			List<Counter<T>> list = new ArrayList<Counter<T>>(merged.values());
+			Collections.sort(list, new Comparator<Counter<T>>(){
+				@Override
+				public int compare(Counter<T> o1, Counter<T> o2){
+					return Long.compare(o2.count, o1.count);
+				}
+			});
+			index.clear();
+			size = Math.min(capacity, list.size());
+			Arrays.fill(heap, null);
+			// 降順の並びを逆にすると最小ヒープになる
+			for(int i=0;i<size;i++){
+				Counter<T> c = list.get(size-1-i);
+				c.position = i;
+				heap[i] = c;
+				index.put(c.item, c);
+			}
+			total += other.total;
+		}
+
+		/**
+		 * 数えた全ての個数を取得する．
+		 * @since 1.2
+		 * @return 全体の個数
+		 */
+		public long getTotal(){
+			return total;
+		}
+
+		/**
+		 * 要素の個数を推定する．
+		 * <p>
+		 * 数えていない要素の場合は，真の個数の上限(最小の個数)を返します．
+		 * </p>
+		 * @since 1.2
+		 * @param item 要素
+		 * @return 個数の上限
+		 */
+		public long estimateCount(T item){
+			Counter<T> c = index.get(item);
+			if(c!=null) return c.count;
+			return size<capacity ? 0 : heap[0].count;
+		}
+
+		/**
+		 * 個数の多い順に上位k個を取得する．
+		 * @since 1.2
+		 * @param k 取得する個数
+		 * @return 個数の降順のカウンタのリスト
+		 */
+		public List<Counter<T>> getTopK(int k){
+			List<Counter<T>> list = new ArrayList<Counter<T>>();
+			for(int i=0;i<size;i++) list.add(heap[i]);
+			Collections.sort(list, new Comparator<Counter<T>>(){
+				@Override
+				public int compare(Counter<T> o1, Counter<T> o2){
+					return Long.compare(o2.count, o1.count);
+				}
+			});
+			return list.subList(0, Math.min(k, list.size()));
+		}
+
+		private void siftUp(int i){
+			Counter<T> c = heap[i];
+			while(i>0){
+				int parent = (i-1)>>>1;
+				Counter<T> p = heap[parent];
+				if(p.count<=c.count) break;
+				heap[i] = p;
+				p.position = i;
+				i = parent;
+			}
+			heap[i] = c;
+			c.position = i;
+		}
+
+		private void siftDown(int i){
+			Counter<T> c = heap[i];
+			int half = size>>>1;
+			while(i<half){
+				int child = 2*i+1;
+				int right = child+1;
+				if(right<size && heap[right].count<heap[child].count) child = right;
+				if(c.count<=heap[child].count) break;
+				heap[i] = heap[child];
+				heap[i].position = i;
+				i = child;
+			}
+			heap[i] = c;
+			c.position = i;
+		}
+	}
+
+	/**
+	 * 異なり数の近似集計(HyperLogLog)．
+	 * <p>
+	 * 2^p個のレジスタ(各1バイト)のみで，要素の種類数を標準誤差およそ1.04/sqrt(2^p)で推定します．<br>
+	 * 要素は64bitのハッシュ値で扱われ，少ない種類数では線形計数で補正されます．<br>
+	 * 同じpで別々に集計したものはmergeで併合できます．<br>
+	 * スレッドセーフではありません．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class HyperLogLog {
+		/** pの既定値(標準誤差はおよそ0.8%) */
+		public static final int DEFAULT_PRECISION = 14;
+
+		private final int p;
+		private final byte[] registers;
+
+		/**
+		 * p=14で作成する．
+		 * @since 1.2
+		 */
+		public HyperLogLog(){
+			this(DEFAULT_PRECISION);
+		}
+
+		/**
+		 * 精度を指定して作成する．
+		 * @since 1.2
+		 * @param p レジスタ数の対数(4以上18以下)
+		 */
+		public HyperLogLog(int p){
+			if(p<4 || p>18) throw new IllegalArgumentException("pは4以上18以下を指定してください．");
+			this.p = p;
+			this.registers = new byte[1<<p];
+		}
+
+		/**
+		 * 整数の要素を数える．
+		 * @since 1.2
+		 * @param item 要素
+		 */
+		public void offer(long item){
+			offerHash(mix(item));
+		}
+
+		/**
+		 * 文字列の要素を数える．
+		 * @since 1.2
+		 * @param item 要素
+		 */
+		public void offer(String item){
+			offerHash(mix(fnv1a64(item)));
+		}
+
+		/**
+		 * 要素をhashCodeにより数える．
+		 * <p>
+		 * hashCodeは32bitのため，数十億種類を超えると精度が落ちます．
+		 * </p>
+		 * @since 1.2
+		 * @param item 要素
+		 */
+		public void offer(Object item){
+			if(item instanceof String) offer((String)item);
+			else offerHash(mix(item.hashCode()));
+		}
+
+		/**
+		 * 他の集計を併合する．
+		 * @since 1.2
+		 * @param other 併合する集計(同じp)
+		 */
+		public void merge(HyperLogLog other){
+			if(other.p!=p) throw new IllegalArgumentException("pが異なる集計は併合できません．");
+			for(int i=0;i<registers.length;i++){
+				if(other.registers[i]>registers[i]) registers[i] = other.registers[i];
+			}
+		}
+
+		/**
+		 * 異なり数の推定値を取得する．
+		 * @since 1.2
+		 * @return 推定値
+		 */
+		public long getEstimate(){
+			int m = registers.length;
+			double sum = 0;
+			int zeros = 0;
+			for(byte r : registers){
+				sum += 1.0/(1L<<r);
+				if(r==0) zeros++;
+			}
+			double alpha = m==16 ? 0.673 : m==32 ? 0.697 : m==64 ? 0.709 : 0.7213/(1+1.079/m);
+			double estimate = alpha*m*m/sum;
+			if(estimate<=2.5*m && zeros>0) estimate = m*Math.log((double)m/zeros);
+			return Math.round(estimate);
+		}
+
+		/**
+		 * 推定値の標準誤差(相対)を取得する．
+		 * @since 1.2
+		 * @return 相対誤差
+		 */
+		public double getRelativeError(){
+			return 1.04/Math.sqrt(registers.length);
+		}
+
+		@Override
+		public String toString(){
+			return "distinct="+getEstimate()+"(±"+getRelativeError()*100+"%)";
+		}
+
+		private void offerHash(long hash){
+			int i = (int)(hash>>>(64-p));
+			int rank = Long.numberOfLeadingZeros((hash<<p) | (1L<<(p-1)))+1;
+			if(rank>registers[i]) registers[i] = (byte)rank;
+		}
+
+		private static long mix(long h){
+			h ^= h>>>33;
+			h *= 0xff51afd7ed558ccdL;
+			h ^= h>>>33;
+			h *= 0xc4ceb9fe1a85ec53L;
+			h ^= h>>>33;
+			return h;
+		}
+	}
+
+	/*――――――――――――――――――――――――――――――
+	 * 演算
+	 * ――――――――――――――――――――――――――――――*/
+
+	/**
+	 * 積和演算(乗累算)を行う．
+	 * <p>
+	 * Multiply and ACcumulation．<br>
+	 * つまり、sigma(map.keyset) key*value<br>
+	 * 従来通りintで計算するため，各項の積または総和がintの範囲を超える場合はオーバーフローします．
+	 * longで求める場合はgetMAC(IntHistogram)またはgetMAC(int[], int[])を使ってください．
+	 * </p>
+	 * @since 1.0
+	 * @param map 積和演算計算対象Map
+	 * @return 積和演算結果
+	 * @see #getMAC(IntHistogram)
+	 * @see #getMAC(int[], int[])
+	 */
+	public static Integer getMAC(Map<Integer, Integer> map){
+		int sum = 0;
+		for(Integer key : map.keySet()){
+			Integer value = map.get(key);
+			sum += key*value;
+		}
+		return sum;
+	}
+
+	/**
+	 * IntHistogramの積和演算(乗累算)を行う．
+	 * <p>
+	 * つまり、sigma(要素) 要素*個数
+	 * </p>
+	 * @since 1.2
+	 * @param hist 積和演算計算対象IntHistogram
+	 * @return 積和演算結果
+	 * @see #getMAC(Map)
+	 */
+	public static long getMAC(IntHistogram hist){
+		final long[] sum = new long[1];
+		hist.forEach(new IntHistogram.Visitor(){
+			@Override
+			public void visit(int key, int count){
+				sum[0] += (long)key*count;
+			}
+		});
+		return sum[0];
+	}
+
+	/**
+	 * 二つのint型配列の積和演算(乗累算)を行う．
+	 * <p>
+	 * つまり、sigma(i) a[i]*b[i]をlongで求めます．<br>
+	 * 各項の積はオーバーフローしませんが，総和がlongの範囲を超える場合はオーバーフローします．
+	 * </p>
+	 * @since 1.2
+	 * @param a 配列1
+	 * @param b 配列2
+	 * @return 積和演算結果
+	 * @see NumericKernels#dot(int[], int[])
+	 */
+	public static long getMAC(int[] a, int[] b){
+		return NumericKernels.dot(a, b);
+	}
+
+	/**
+	 * 二つのdouble型配列の積和演算(乗累算)を行う．
+	 * @since 1.2
+	 * @param a 配列1
+	 * @param b 配列2
+	 * @return 積和演算結果
+	 * @see NumericKernels#dot(double[], double[])
+	 */
+	public static double getMAC(double[] a, double[] b){
+		return NumericKernels.dot(a, b);
+	}
+
+	/**
+	 * 配列内要素の平均値を出力する．
+	 * @since 1.2
+	 * @param array 対象の配列
+	 */
+	public static void printAverage(int[] array){
+		System.out.println("Average : "+(NumericKernels.sum(array)*1.0/array.length));
+	}
+
+	/**
+	 * 配列内要素の平均値を出力する．
+	 * @since 1.2
+	 * @param array 対象の配列
+	 */
+	public static void printAverage(double[] array){
+		System.out.println("Average : "+(NumericKernels.sum(array)/array.length));
+	}
+
+	/**
+	 * 数値配列の演算．
+	 * <p>
+	 * 積和(内積)，総和，最小値，最大値，int型とdouble型の一括変換を，プリミティブ型の配列に対して行います．<br>
+	 * 整数の総和，最小値，最大値はJITコンパイラがSIMD命令に自動ベクトル化できる単純なループです．<br>
+	 * 実数の演算と積和は加算の順序を変えられず自動ベクトル化されないため，
+	 * 4つの独立した累積変数に展開し，累積の依存関係で止まらずに命令レベルの並列性が活かされるようにしています．<br>
+	 * 積和のループの上限は両方の配列の長さの最小値とし，JITコンパイラが両方の配列の範囲チェックを除去できるようにしています．<br>
+	 * 整数の総和と積和はlongで累積します．<br>
+	 * 実数の総和と積和は加算の順序が異なるため，先頭から順に加算した場合と最後の桁が異なることがあります．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static final class NumericKernels {
+
+		private NumericKernels(){
+		}
+
+		/**
+		 * int型配列の内積をlongで求める．
+		 * @since 1.2
+		 * @param a 配列1
+		 * @param b 配列2(aと同じ長さ)
+		 * @return 内積
+		 */
+		public static long dot(int[] a, int[] b){
+			if(a.length!=b.length) throw new IllegalArgumentException("配列の長さが異なります．");
+			long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+			int n = Math.min(a.length, b.length);
+			int limit = n & ~3;
+			int i = 0;
+			for(;i<limit;i+=4){
+				s0 += (long)a[i]*b[i];
+				s1 += (long)a[i+1]*b[i+1];
+				s2 += (long)a[i+2]*b[i+2];
+				s3 += (long)a[i+3]*b[i+3];
+			}
+			for(;i<n;i++) s0 += (long)a[i]*b[i];
+			return s0+s1+s2+s3;
+		}
+
+		/**
+		 * long型配列の内積を求める．
+		 * @since 1.2
+		 * @param a 配列1
+		 * @param b 配列2(aと同じ長さ)
+		 * @return 内積
+		 */
+		public static long dot(long[] a, long[] b){
+			if(a.length!=b.length) throw new IllegalArgumentException("配列の長さが異なります．");
+			long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+			int n = Math.min(a.length, b.length);
+			int limit = n & ~3;
+			int i = 0;
+			for(;i<limit;i+=4){
+				s0 += a[i]*b[i];
+				s1 += a[i+1]*b[i+1];
+				s2 += a[i+2]*b[i+2];
+				s3 += a[i+3]*b[i+3];
+			}
+			for(;i<n;i++) s0 += a[i]*b[i];
+			return s0+s1+s2+s3;
+		}
+
+		/**
+		 * double型配列の内積を求める．
+		 * @since 1.2
+		 * @param a 配列1
+		 * @param b 配列2(aと同じ長さ)
+		 * @return 内積
+		 */
+		public static double dot(double[] a, double[] b){
+			if(a.length!=b.length) throw new IllegalArgumentException("配列の長さが異なります．");
+			double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+			int n = Math.min(a.length, b.length);
+			int limit = n & ~3;
+			int i = 0;
+			for(;i<limit;i+=4){
+				s0 += a[i]*b[i];
+				s1 += a[i+1]*b[i+1];
+				s2 += a[i+2]*b[i+2];
+				s3 += a[i+3]*b[i+3];
+			}
+			for(;i<n;i++) s0 += a[i]*b[i];
+			return (s0+s1)+(s2+s3);
+		}
+
+		/**
+		 * int型配列の総和をlongで求める．
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 総和
+		 */
+		public static long sum(int[] a){
+			long sum = 0;
+			for(int i=0;i<a.length;i++) sum += a[i];
+			return sum;
+		}
+
+		/**
+		 * long型配列の総和を求める．
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 総和
+		 */
+		public static long sum(long[] a){
+			long sum = 0;
+			for(int i=0;i<a.length;i++) sum += a[i];
+			return sum;
+		}
+
+		/**
+		 * double型配列の総和を求める．
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 総和
+		 */
+		public static double sum(double[] a){
+			double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+			int n = a.length;
+			int limit = n & ~3;
+			int i = 0;
+			for(;i<limit;i+=4){
+				s0 += a[i];
+				s1 += a[i+1];
+				s2 += a[i+2];
+				s3 += a[i+3];
+			}
+			for(;i<n;i++) s0 += a[i];
+			return (s0+s1)+(s2+s3);
+		}
+
+		/**
+		 * int型配列の最小値を求める．
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 最小値，空の場合はInteger.MAX_VALUE
+		 */
+		public static int min(int[] a){
+			int min = Integer.MAX_VALUE;
+			for(int i=0;i<a.length;i++) min = Math.min(min, a[i]);
+			return min;
+		}
+
+		/**
+		 * int型配列の最大値を求める．
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 最大値，空の場合はInteger.MIN_VALUE
+		 */
+		public static int max(int[] a){
+			int max = Integer.MIN_VALUE;
+			for(int i=0;i<a.length;i++) max = Math.max(max, a[i]);
+			return max;
+		}
+
+		/**
+		 * long型配列の最小値を求める．
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 最小値，空の場合はLong.MAX_VALUE
+		 */
+		public static long min(long[] a){
+			long min = Long.MAX_VALUE;
+			for(int i=0;i<a.length;i++) min = Math.min(min, a[i]);
+			return min;
+		}
+
+		/**
+		 * long型配列の最大値を求める．
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 最大値，空の場合はLong.MIN_VALUE
+		 */
+		public static long max(long[] a){
+			long max = Long.MIN_VALUE;
+			for(int i=0;i<a.length;i++) max = Math.max(max, a[i]);
+			return max;
+		}
+
+		/**
+		 * double型配列の最小値を求める．
+		 * <p>
+		 * NaNを含む場合はNaNになります．
+		 * </p>
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 最小値，空の場合は正の無限大
+		 */
+		public static double min(double[] a){
+			double m0 = Double.POSITIVE_INFINITY, m1 = m0, m2 = m0, m3 = m0;
+			int n = a.length;
+			int limit = n & ~3;
+			int i = 0;
+			for(;i<limit;i+=4){
+				m0 = Math.min(m0, a[i]);
+				m1 = Math.min(m1, a[i+1]);
+				m2 = Math.min(m2, a[i+2]);
+				m3 = Math.min(m3, a[i+3]);
+			}
+			for(;i<n;i++) m0 = Math.min(m0, a[i]);
+			return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+		}
+
+		/**
+		 * double型配列の最大値を求める．
+		 * <p>
+		 * NaNを含む場合はNaNになります．
+		 * </p>
+		 * @since 1.2
+		 * @param a 配列
+		 * @return 最大値，空の場合は負の無限大
+		 */
+		public static double max(double[] a){
+			double m0 = Double.NEGATIVE_INFINITY, m1 = m0, m2 = m0, m3 = m0;
+			int n = a.length;
+			int limit = n & ~3;
+			int i = 0;
+			for(;i<limit;i+=4){
+				m0 = Math.max(m0, a[i]);
+				m1 = Math.max(m1, a[i+1]);
+				m2 = Math.max(m2, a[i+2]);
+				m3 = Math.max(m3, a[i+3]);
+			}
+			for(;i<n;i++) m0 = Math.max(m0, a[i]);
+			return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+		}
+
+		/**
+		 * int型配列をdouble型配列に一括変換する．
+		 * @since 1.2
+		 * @param a 変換元の配列
+		 * @return double型配列
+		 */
+		public static double[] toDoubleArray(int[] a){
+			double[] res = new double[a.length];
+			for(int i=0;i<a.length;i++) res[i] = a[i];
+			return res;
+		}
+
+		/**
+		 * double型配列をint型配列に一括変換する．
+		 * <p>
+		 * 変換は(int)によるキャストと同じで，小数点以下は切り捨てられます．
+		 * </p>
+		 * @since 1.2
+		 * @param a 変換元の配列
+		 * @return int型配列
+		 */
+		public static int[] toIntArray(double[] a){
+			int[] res = new int[a.length];
+			for(int i=0;i<a.length;i++) res[i] = (int)a[i];
+			return res;
+		}
+	}
+
+	/**
+	 * 指定されたサイズをn分割した際の、分割点インデックスを得る．
+	 * @since 1.0
+	 * @param n 分割数
+	 * @param size 分割前要素数
+	 * @return Map<part,start>
+	 * @see #getRangeDivideN(int, long)
+	 */
+	public static Map<Integer, Integer> getStartPosDivideN(int n, int size){
+		Map<Integer, Integer> map = new TreeMap<Integer, Integer>();
+		int index = 0;
+		int slide = size/n;
+		for(int i=0;i<n;i++){
+			map.put(i, index);
+			index+=slide;
+		}
+		return map;
+	}
+
+	/**
+	 * 指定されたサイズをn分割した際の，各区間の境界を得る．
+	 * <p>
+	 * 余り(size%n)は先頭の区間から1つずつ配分されるため，区間の大きさの差は高々1です．<br>
+	 * 区間iは[bounds[i],bounds[i+1])であり，bounds[n]は必ずsizeになります．
+	 * </p>
+	 * @since 1.2
+	 * @param n 分割数
+	 * @param size 分割前要素数
+	 * @return 長さn+1の境界配列
+	 */
+	public static long[] getRangeDivideN(int n, long size){
+		long[] bounds = new long[n+1];
+		long slide = size/n;
+		long rest = size%n;
+		for(int i=0;i<n;i++){
+			bounds[i+1] = bounds[i]+slide+(i<rest ? 1 : 0);
+		}
+		return bounds;
+	}
+
+	/**
+	 * サロゲートペア(顔文字)を考慮した文字列長を取得する．
+	 * @since 1.0
+	 * @param str 文字列
+	 * @return 文字長
+	 * @deprecated getSuperLengthでUnicodeの濁点も考慮されます．
+	 */
+	public static int getCodePointCount(String str) {
+		return str.codePointCount(0, str.length());
+	}
+
+	/**
+	 * サロゲートペア(顔文字など)とUnicodeの濁点を考慮した文字長を取得する．
+	 * @since 1.0
+	 * @param str 文字列
+	 * @return 文字長
+	 */
+	public static int getSuperLength(String str) {
+		String after = Normalizer.normalize(str, Normalizer.Form.NFC);
+		return after.codePointCount(0, after.length());
+	}
+
+	/*――――――――――――――――――――――――――――――
+	 * システムまたファイル操作
+	 * ――――――――――――――――――――――――――――――*/
+
+	/**
+	 * 強制的にガベージコレクションを実行する．
+	 * @since 1.0
+	 */
+	public static void doGarbageCollection(){
+		System.gc();
+	}
+
+	/**
+	 * 指定した秒数だけ実行を一時停止．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.0
+	 * @param seconds 一時停止させる秒数
+	 */
+	public static void sleepSec(int seconds){
+		try {
+			Thread.sleep(seconds*1000);
+		} catch (InterruptedException e) {
+			System.err.println(e);
+		}
+	}
+
+	/**
+	 * システムプロパティ情報を出力する．
+	 * @since 1.0
+	 */
+	public static void printProperties(){
+		Properties props = System.getProperties();
+		props.list(System.err);
+	}
+
+	/**
+	 * Java 仮想マシンのメモリ情報を返す．
+	 * @since 1.0
+	 */
+	public static void printMemoryInfo() {
+		DecimalFormat f1 = new DecimalFormat("#,###KB");
+		DecimalFormat f2 = new DecimalFormat("##.#");
+		long free = Runtime.getRuntime().freeMemory()/1024;
+		long total = Runtime.getRuntime().totalMemory()/1024;
+		long max = Runtime.getRuntime().maxMemory()/1024;
+		long used = total - free;
+		double ratio = (used * 100 / (double) total );
+		String info = "Total = " + f1.format(total) + " , " +
+				"Used = " + f1.format(used) + " (" + f2.format(ratio) + "%) , " +
+				"Free = "+f1.format(max);
+		System.err.println(info);
+	}
+
+	/**
+	 * ストップウォッチ
+	 * <p>
+	 * 実行時間を計測することができます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.0
+	 */
+	public static class StopWatch {
+		private long SplitTime;
+		private long LapTime;
+
+		/**
+		 * ストップウォッチをスタートします．
+		 * <p>
+		 * コンストラクタを呼び出すことで，リスタートすることが可能です．
+		 * </p>
+		 * @since 1.0
+		 */
+		public StopWatch(){
+			SplitTime = System.currentTimeMillis();
+			LapTime = System.currentTimeMillis();
+		}
+
+		/**
+		 * スプリットタイムを取得します．
+		 * @since 1.0
+		 * @return スプリットタイム
+		 */
+		public long getSplitTime(){
+			return System.currentTimeMillis() - SplitTime;
+		}
+
+		/**
+		 * ラップタイムを取得します．
+		 * <p>
+		 * 次ラップのスタート時間として設定もされます．
+		 * </p>
+		 * @since 1.0
+		 * @return ラップタイム
+		 */
+		public long getLapTime(){
+			long time = System.currentTimeMillis() - LapTime;
+			LapTime = System.currentTimeMillis();
+			return time;
+		}
+
+		/**
+		 * スプリットタイムを文字列で取得します．
+		 * @since 1.0
+		 * @return スプリットタイム
+		 */
+		public String getSplitTimeString(){
+			return TimeToString(getSplitTime());
+		}
+
+		/**
+		 * ラップタイムを文字列で取得します．
+		 * <p>
+		 * 次ラップのスタート時間として設定もされます．
+		 * </p>
+		 * @since 1.0
+		 * @return ラップタイム
+		 */
+		public String getLapTimeString(){
+			return TimeToString(getLapTime());
+		}
+
+		/**
+		 * ミリ秒long時間を分かり易く文字列に変換する．
+		 * @since 1.0
+		 * @param time ミリ秒時間
+		 * @return day,hour,minute,second,msec での文字列
+		 */
+		private String TimeToString(long time){
+			String timeStr;
+
+			//ミリ秒
+			timeStr = String.valueOf(time % 1000) + "ms";
+			//秒
+			if(time >= 1000){
+				time /= 1000;
+				timeStr = String.valueOf(time % 60) + "s "+ timeStr;
+			}else{
+				return timeStr;
+			}
+			//分
+			if(time >= 60){
+				time /= 60;
+				timeStr = String.valueOf(time % 60) + "m " + timeStr;
+			}else{
+				return timeStr;
+			}
+			//時間
+			if(time >= 60){
+				time /= 60;
+				timeStr = String.valueOf(time % 60) + "h " + timeStr;
+			}
+			else{
+				return timeStr;
+			}
+			//日
+			if(time >= 24){
+				time /= 24;
+				timeStr = String.valueOf(time) + "d " + timeStr;
+			}
+			return timeStr;
+		}
+	}
+
+	/**
+	 * 重複ファイルの検出．
+	 * <p>
+	 * ディレクトリ以下の全てのファイルから，内容が同一のファイルの組を検出します．<br>
+	 * ファイルサイズ，先頭と末尾の一部のハッシュ値，全体のSHA-256の順に絞り込むため，
+	 * 大きさの異なるファイルや先頭が異なるファイルは全体を読みません．<br>
+	 * ハッシュ値の計算はForkJoinPoolの共通プールで並列に行われます．<br>
+	 * 指定したディレクトリ以下のシンボリックリンクはたどらず，対象にもしません．<br>
+	 * 索引ファイルを指定した場合は，(パス，サイズ，更新時刻，ハッシュ値)を保存し，
+	 * 次回はサイズと更新時刻が変わったファイルのみハッシュ値を計算し直します．
+	 * 索引ファイル自身は対象にしません．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	public static class DuplicateFileFinder {
+		/** 部分ハッシュ値で読み込む先頭と末尾のバイト数 */
+		private static final int PARTIAL_SIZE = 1 << 13;
+		/** ハッシュ値が未計算であることを表す索引ファイル上の値 */
+		private static final String NONE = "-";
+
+		private final String indexPath;
+		/** 正規化した索引ファイル，索引ファイルを使わない場合はnull */
+		private final File indexFile;
+		private final Map<String, FileEntry> index = new HashMap<String, FileEntry>();
+
+		/**
+		 * 索引ファイルを使わずにDuplicateFileFinderを発行する．
+		 * @since 1.2
+		 */
+		public DuplicateFileFinder(){
+			this.indexPath = null;
+			this.indexFile = null;
+		}
+
+		/**
+		 * 索引ファイルを指定してDuplicateFileFinderを発行する．
+		 * <p>
+		 * 索引ファイルが存在する場合は読み込みます．
+		 * </p>
+		 * @since 1.2
+		 * @param indexPath 索引ファイルのパス
+		 */
+		public DuplicateFileFinder(String indexPath){
+			this.indexPath = indexPath;
+			this.indexFile = getCanonicalFile(new File(indexPath));
+			if(new File(indexPath).isFile()) load();
+		}
+
+		/**
+		 * 指定されたディレクトリ以下から，内容が同一のファイルの組を検出する．
+		 * <p>
+		 * 各組のパスは昇順に並び，組は先頭のパスの昇順に並びます．<br>
+		 * 索引ファイルを指定している場合は，検出後に索引ファイルを保存します．
+		 * </p>
+		 * @since 1.2
+		 * @param dirs 対象のディレクトリ
+		 * @return 同一のファイルのパスのリストのリスト
+		 */
+		public List<List<String>> find(String... dirs){
+			Map<Long, List<FileEntry>> bySize = new HashMap<Long, List<FileEntry>>();
+			Set<String> visited = new HashSet<String>();
+			for(String dir : dirs) collect(new File(dir), bySize, visited, true);
+
+			List<FileEntry> partial = new ArrayList<FileEntry>();
+			for(List<FileEntry> group : bySize.values()){
+				if(group.size()>1 && group.get(0).size>0) partial.addAll(group);
+			}
+			computeHashes(partial, false);
+
+			List<List<String>> res = new ArrayList<List<String>>();
+			List<FileEntry> full = new ArrayList<FileEntry>();
+			List<List<FileEntry>> candidates = new ArrayList<List<FileEntry>>();
+			for(List<FileEntry> group : bySize.values()){
+				if(group.size()<2) continue;
+				if(group.get(0).size==0){
+					res.add(getPaths(group));
+					continue;
+				}
+				for(List<FileEntry> sub : groupBy(group, false)){
+					if(sub.size()<2) continue;
+					// 部分ハッシュ値がファイル全体を覆う場合は全体のハッシュ値を計算しない
+					if(sub.get(0).size<=2*PARTIAL_SIZE) res.add(getPaths(sub));
+					else{
+						full.addAll(sub);
+						candidates.add(sub);
+					}
+				}
+			}
+			computeHashes(full, true);
+			for(List<FileEntry> group : candidates){
+				for(List<FileEntry> sub : groupBy(group, true)){
+					if(sub.size()>1) res.add(getPaths(sub));
+				}
+			}
+			Collections.sort(res, new Comparator<List<String>>(){
+				@Override
+				public int compare(List<String> o1, List<String> o2){
+					return o1.get(0).compareTo(o2.get(0));
+				}
+			});
+			if(indexPath!=null) save();
+			return res;
+		}
+
+		/**
+		 * 索引ファイルを保存する．
+		 * <p>
+		 * 既に存在しないファイルは索引から除きます．<br>
+		 * タブ文字や改行文字を含むパスは索引ファイルの形式で表せないため，保存しません．
+		 * </p>
+		 * @since 1.2
+		 */
+		public void save(){
+			MyBufferedWriter bw = new MyBufferedWriter(indexPath);
+			for(FileEntry e : index.values()){
+				if(e.path.indexOf('\t')>=0 || e.path.indexOf('\n')>=0 || e.path.indexOf('\r')>=0) continue;
+				if(!new File(e.path).isFile()) continue;
+				bw.writeln(e.path+"\t"+e.size+"\t"+e.lastModified+"\t"
+						+(e.partialHash==null ? NONE : e.partialHash)+"\t"
+						+(e.fullHash==null ? NONE : e.fullHash));
+			}
+			bw.close();
+		}
+
+		/**
+		 * 索引ファイルを読み込む．
+		 * <p>
+		 * 形式が正しくない行は無視します．
+		 * </p>
+		 * @since 1.2
+		 */
+		private void load(){
+			for(String line : new MyBufferedReader(indexPath)){
+				String[] cols = line.split("\t");
+				if(cols.length!=5) continue;
+				try {
+					FileEntry e = new FileEntry(cols[0], Long.parseLong(cols[1]), Long.parseLong(cols[2]));
+					if(!cols[3].equals(NONE)) e.partialHash = cols[3];
+					if(!cols[4].equals(NONE)) e.fullHash = cols[4];
+					index.put(e.path, e);
+				} catch (NumberFormatException ex) {
+					// 壊れた行は無視する
+				}
+			}
+		}
+
+		/**
+		 * ディレクトリ以下のファイルをサイズごとに集める．
+		 * <p>
+		 * サイズと更新時刻が索引と一致するファイルは，索引のハッシュ値を引き継ぎます．<br>
+		 * 循環を避けるため，指定されたディレクトリ自身を除き，シンボリックリンクは無視します．<br>
+		 * 索引ファイル自身も無視します．
+		 * </p>
+		 * @since 1.2
+		 * @param file ファイルまたはディレクトリ
+		 * @param bySize サイズごとのファイル
+		 * @param visited 集めたファイルのパス
+		 * @param root 指定されたディレクトリ自身であるかどうか
+		 */
+		private void collect(File file, Map<Long, List<FileEntry>> bySize, Set<String> visited, boolean root){
+			if(!root && Files.isSymbolicLink(file.toPath())) return;
+			File[] children = file.listFiles();
+			if(children==null){
+				String path = file.getPath();
+				if(!file.isFile() || isIndexFile(file) || !visited.add(path)) return;
+				long size = file.length();
+				long lastModified = file.lastModified();
+				FileEntry e = index.get(path);
+				if(e==null || e.size!=size || e.lastModified!=lastModified){
+					e = new FileEntry(path, size, lastModified);
+					index.put(path, e);
+				}
+				List<FileEntry> group = bySize.get(size);
+				if(group==null){
+					group = new ArrayList<FileEntry>();
+					bySize.put(size, group);
+				}
+				group.add(e);
+				return;
+			}
+			for(File child : children) collect(child, bySize, visited, false);
+		}
+
+		/**
+		 * ファイルが索引ファイル自身であるかどうかを判定する．
+		 * <p>
+		 * 名前が一致する場合のみ正規化して比較します．
+		 * </p>
+		 * @since 1.2
+		 * @param file ファイル
+		 * @return 索引ファイルであればtrue
+		 */
+		private boolean isIndexFile(File file){
+			if(indexFile==null || !file.getName().equals(indexFile.getName())) return false;
+			return getCanonicalFile(file).equals(indexFile);
+		}
+
+		/**
+		 * 正規化したファイルを取得する．
+		 * <p>
+		 * 正規化できない場合は絶対パスのファイルを返します．
+		 * </p>
+		 * @since 1.2
+		 * @param file ファイル
+		 * @return 正規化したファイル
+		 */
+		private static File getCanonicalFile(File file){
+			try {
+				return file.getCanonicalFile();
+			} catch (IOException e) {
+				return file.getAbsoluteFile();
+			}
+		}
+
+		/**
+		 * 未計算のハッシュ値を並列に計算する．
+		 * @since 1.2
+		 * @param entries 対象のファイル
+		 * @param full 全体のハッシュ値であるかどうか
+		 */
+		private static void computeHashes(List<FileEntry> entries, boolean full){
+			List<FileEntry> todo = new ArrayList<FileEntry>();
+			for(FileEntry e : entries){
+				if((full ? e.fullHash : e.partialHash)==null) todo.add(e);
+			}
+			if(todo.isEmpty()) return;
+			ForkJoinPool.commonPool().invoke(new HashTask(todo.toArray(new FileEntry[todo.size()]), 0, todo.size(), full));
+		}
+
+		/**
+		 * ハッシュ値ごとにファイルを分ける．
+		 * <p>
+		 * ハッシュ値を計算できなかったファイルは除きます．
+		 * </p>
+		 * @since 1.2
+		 * @param group 対象のファイル
+		 * @param full 全体のハッシュ値で分けるかどうか
+		 * @return ハッシュ値ごとのファイル
+		 */
+		private static Collection<List<FileEntry>> groupBy(List<FileEntry> group, boolean full){
+			Map<String, List<FileEntry>> map = new HashMap<String, List<FileEntry>>();
+			for(FileEntry e : group){
+				String hash = full ? e.fullHash : e.partialHash;
+				if(hash==null) continue;
+				List<FileEntry> list = map.get(hash);
+				if(list==null){
+					list = new ArrayList<FileEntry>();
+					map.put(hash, list);
+				}
+				list.add(e);
+			}
+			return map.values();
+		}
+
+		/**
+		 * ファイルのパスを昇順に並べて取得する．
+		 * @since 1.2
+		 * @param group 対象のファイル
+		 * @return パスのリスト
+		 */
+		private static List<String> getPaths(List<FileEntry> group){
+			List<String> list = new ArrayList<String>();
+			for(FileEntry e : group) list.add(e.path);
+			Collections.sort(list);
+			return list;
+		}
+
+		/**
+		 * ファイルのハッシュ値を計算する．
+		 * <p>
+		 * 部分ハッシュ値は先頭と末尾のPARTIAL_SIZEバイトの，全体のハッシュ値はファイル全体のSHA-256です．
+		 * </p>
+		 * @since 1.2
+		 * @param e 対象のファイル
+		 * @param full 全体のハッシュ値であるかどうか
+		 * @return 16進数のハッシュ値
+		 * @throws IOException
+		 */
+		private static String hash(FileEntry e, boolean full) throws IOException {
+			MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
+			FileChannel channel = new FileInputStream(e.path).getChannel();
+			try {
+				ByteBuffer buf = ByteBuffer.allocate(full ? 1<<20 : PARTIAL_SIZE);
+				if(full){
+					while(channel.read(buf)>0){
+						buf.flip();
+						digest.update(buf);
+						buf.clear();
+					}
+				}
+				else{
+					readFully(channel, buf, 0);
+					digest.update(buf);
+					if(e.size>PARTIAL_SIZE){
+						buf.clear();
+						readFully(channel, buf, Math.max(PARTIAL_SIZE, e.size-PARTIAL_SIZE));
+						digest.update(buf);
+					}
+				}
+			} finally {
+				channel.close();
+			}
+			StringBuilder sb = new StringBuilder();
+			for(byte b : digest.digest()){
+				sb.append(Character.forDigit((b>>4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		}
+
+		/**
+		 * 指定位置からバッファが一杯になるか終端まで読み込み，読み込んだ部分を読み出せる状態にする．
+		 * @since 1.2
+		 * @param channel 対象のチャネル
+		 * @param buf バッファ
+		 * @param position 読込み開始位置
+		 * @throws IOException
+		 */
+		private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+			int n;
+			while(buf.hasRemaining() && (n=channel.read(buf, position))>0) position += n;
+			buf.flip();
+		}
+
+		/**
+		 * 索引の1ファイル分の情報．
+		 * @author T.Koike
+		 * @since 1.2
+		 */
+		private static final class FileEntry {
+			final String path;
+			final long size;
+			final long lastModified;
+			volatile String partialHash;
+			volatile String fullHash;
+
+			FileEntry(String path, long size, long lastModified){
+				this.path = path;
+				this.size = size;
+				this.lastModified = lastModified;
+			}
+		}
+
+		/**
+		 * ハッシュ値の並列計算タスク．
+		 * <p>
+		 * 区間[lo,hi)を二分して再帰的に処理します．<br>
+		 * 読み込めなかったファイルはハッシュ値を未計算のままにします．
+		 * </p>
+		 * @author T.Koike
+		 * @since 1.2
+		 */
+		@SuppressWarnings("serial")
+		private static class HashTask extends RecursiveAction {
+			private final FileEntry[] entries;
+			private final int lo;
+			private final int hi;
+			private final boolean full;
+
+			HashTask(FileEntry[] entries, int lo, int hi, boolean full){
+				this.entries = entries;
+				this.lo = lo;
+				this.hi = hi;
+				this.full = full;
+			}
+
+			@Override
+			protected void compute(){
+				if(hi-lo>1){
+					int mid = (lo+hi)>>>1;
+					invokeAll(new HashTask(entries, lo, mid, full), new HashTask(entries, mid, hi, full));
+					return;
+				}
+				FileEntry e = entries[lo];
+				try {
+					String hash = hash(e, full);
+					if(full) e.fullHash = hash;
+					else e.partialHash = hash;
+				} catch (IOException ex) {
+					System.err.println("読み込みでエラーが発生しました．"+e.path);
+					ex.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/*――――――――――――――――――――――――――――――
+	 * 高速処理系
+	 * ――――――――――――――――――――――――――――――*/
+
+	/**
+	 * 高速splitをする．．
+	 * <p>
+	 * 内部実装は，StringTokenizerです．
+	 * </p>
+	 * @since 1.0
+	 * @param str 対象の文字列
+	 * @param delimiter 区切り文字
+	 * @return split結果のString配列
+	 */
+	public static String[] split(String str, String delimiter) {
+		StringTokenizer tokenizer = new StringTokenizer(str, delimiter);
+		String[] resultStr = new String[tokenizer.countTokens()];
+		int i = 0;
+		while (tokenizer.hasMoreTokens()) {
+			resultStr[i++] = tokenizer.nextToken();
+		}
+		return resultStr;
+	}
+
+	/**
+	 * ファイルを行単位で並列に集計する．
+	 * <p>
+	 * ファイルをn個のバイト区間に分割し，各境界を次の改行の直後へずらした上で，
+	 * 区間ごとの行をForkJoinPoolで並列に処理します．<br>
+	 * 区間ごとの結果はsupplierで作成され，accumulatorで各行が追加され，
+	 * 最後にファイル中の順序を保ったままcombinerで結合されます．<br>
+	 * 各区間はメモリマップドファイルで読み込まれ，文字コードは既定のもの(ASCII互換)です．<br>
+	 * gzip圧縮されたファイルは区間に分割できないため，エラーとしてnullを返します．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param n 分割数
+	 * @param supplier 区間ごとの結果を作成する関数
+	 * @param accumulator 結果へ一行を追加する関数
+	 * @param combiner 二つの結果を結合する関数
+	 * @return 全区間を結合した結果，失敗時はnull
+	 */
+	public static <R> R processFileParallel(String path, int n, Supplier<R> supplier,
+			BiConsumer<R, String> accumulator, BinaryOperator<R> combiner){
+		FileChannel channel = null;
+		try {
+			channel = new FileInputStream(path).getChannel();
+			if(isGzip(channel)){
+				System.err.println("gzip圧縮されたファイルは並列に処理できません．");
+				return null;
+			}
+			long[] bounds = getRangeDivideN(n, channel.size());
+			for(int i=1;i<n;i++) bounds[i] = getNextLineStart(channel, bounds[i], bounds[n]);
+			return ForkJoinPool.commonPool().invoke(
+					new LineRangeTask<R>(channel, bounds, 0, n, supplier, accumulator, combiner));
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたファイルが見つかりませんでした．");
+			e.printStackTrace();
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		} catch (UncheckedIOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		} finally {
+			closeQuietly(channel);
+		}
+		return null;
+	}
+
+	/**
+	 * 指定位置以降で最初に始まる行の先頭位置を得る．
+	 * <p>
+	 * 指定位置が行頭であればそのまま返します．
+	 * </p>
+	 * @since 1.2
+	 * @param channel 対象のチャネル
+	 * @param position 探索開始位置
+	 * @param size ファイルサイズ
+	 * @return 行の先頭位置，見つからなければsize
+	 * @throws IOException
+	 */
+	private static long getNextLineStart(FileChannel channel, long position, long size) throws IOException {
+		if(position<=0) return 0;
+		ByteBuffer buf = ByteBuffer.allocate(8192);
+		long offset = position-1;
+		while(offset<size){
+			buf.clear();
+			int n = channel.read(buf, offset);
+			if(n<=0) break;
+			for(int i=0;i<n;i++){
+				if(buf.get(i)=='\n') return offset+i+1;
+			}
+			offset += n;
+		}
+		return size;
+	}
+
+	/**
+	 * processFileParallelの区間処理タスク．
+	 * <p>
+	 * 区間[lo,hi)を二分して再帰的に処理し，結果を順序通りに結合します．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	@SuppressWarnings("serial")
+	private static class LineRangeTask<R> extends RecursiveTask<R> {
+		private final FileChannel channel;
+		private final long[] bounds;
+		private final int lo;
+		private final int hi;
+		private final Supplier<R> supplier;
+		private final BiConsumer<R, String> accumulator;
+		private final BinaryOperator<R> combiner;
+
+		LineRangeTask(FileChannel channel, long[] bounds, int lo, int hi, Supplier<R> supplier,
+				BiConsumer<R, String> accumulator, BinaryOperator<R> combiner){
+			this.channel = channel;
+			this.bounds = bounds;
+			this.lo = lo;
+			this.hi = hi;
+			this.supplier = supplier;
+			this.accumulator = accumulator;
+			this.combiner = combiner;
+		}
+
+		@Override
+		protected R compute(){
+			if(hi-lo>1){
+				int mid = (lo+hi)>>>1;
+				LineRangeTask<R> left = new LineRangeTask<R>(channel, bounds, lo, mid, supplier, accumulator, combiner);
+				LineRangeTask<R> right = new LineRangeTask<R>(channel, bounds, mid, hi, supplier, accumulator, combiner);
+				left.fork();
+				R r = right.compute();
+				return combiner.apply(left.join(), r);
+			}
+			R result = supplier.get();
+			MappedLineReader reader = new MappedLineReader(channel, bounds[lo], bounds[hi], Charset.defaultCharset());
+			try {
+				String line;
+				while((line=reader.readLine())!=null) accumulator.accept(result, line);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * バイト列から数値への変換．
+	 * <p>
+	 * 文字列を作らずにバイト列の指定範囲を直接数値へ変換します．<br>
+	 * 変換結果と例外はInteger.parseInt，Long.parseLong，Double.parseDoubleと同じです．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	private static final class NumberParser {
+
+		/** 正確に表現できる10の累乗 */
+		private static final double[] POW10 = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+		};
+
+		/** Eisel-Lemireで扱う10進指数部の範囲 */
+		private static final int MIN_EXP10 = -348;
+		private static final int MAX_EXP10 = 347;
+
+		/** eiselLemireが失敗した場合の戻り値 */
+		private static final long FAILED = -1L;
+
+		/** 10の累乗の仮数部を128bitに切り捨てたものの上位64bitと下位64bit */
+		private static final long[] POW10_HI = new long[MAX_EXP10-MIN_EXP10+1];
+		private static final long[] POW10_LO = new long[MAX_EXP10-MIN_EXP10+1];
+
+		static {
+			for(int q=MIN_EXP10;q<=MAX_EXP10;q++){
+				BigInteger p = BigInteger.TEN.pow(Math.abs(q));
+				BigInteger m;
+				if(q>=0){
+					int shift = p.bitLength()-128;
+					m = shift>0 ? p.shiftRight(shift) : p.shiftLeft(-shift);
+				}
+				else{
+					m = BigInteger.ONE.shiftLeft(p.bitLength()+127).divide(p);
+				}
+				POW10_HI[q-MIN_EXP10] = m.shiftRight(64).longValue();
+				POW10_LO[q-MIN_EXP10] = m.longValue();
+			}
+		}
+
+		private NumberParser(){
+		}
+
+		/**
+		 * バイト列の指定範囲をint型に変換する．
+		 * @since 1.2
+		 * @param b バイト列
+		 * @param from 開始位置
+		 * @param to 終了位置(この位置を含まない)
+		 * @return 変換結果
+		 */
+		static int parseInt(byte[] b, int from, int to){
+			long value = parseLong(b, from, to);
+			if(value!=(int)value) throw numberFormatException(b, from, to);
+			return (int)value;
+		}
+
+		/**
+		 * バイト列の指定範囲をlong型に変換する．
+		 * @since 1.2
+		 * @param b バイト列
+		 * @param from 開始位置
+		 * @param to 終了位置(この位置を含まない)
+		 * @return 変換結果
+		 */
+		static long parseLong(byte[] b, int from, int to){
+			int i = from;
+			boolean negative = false;
+			if(i<to && (b[i]=='-' || b[i]=='+')){
+				negative = b[i]=='-';
+				i++;
+			}
+			if(i>=to) throw numberFormatException(b, from, to);
+			long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+			long multmin = limit/10;
+			long result = 0;
+			for(;i<to;i++){
+				int digit = b[i]-'0';
+				if(digit<0 || digit>9 || result<multmin) throw numberFormatException(b, from, to);
+				result *= 10;
+				if(result<limit+digit) throw numberFormatException(b, from, to);
+				result -= digit;
+			}
+			return negative ? result : -result;
+		}
+
+		/**
+		 * バイト列の指定範囲をdouble型に変換する．
+		 * <p>
+		 * 通常の十進表記はtoDoubleで直接変換し，それ以外の表記(NaN，Infinity，16進表記，前後の空白など)と
+		 * 非正規化数などはDouble.parseDoubleにフォールバックします．<br>
+		 * いずれの場合も結果はDouble.parseDoubleとビット単位で一致します．
+		 * </p>
+		 * @since 1.2
+		 * @param b バイト列
+		 * @param from 開始位置
+		 * @param to 終了位置(この位置を含まない)
+		 * @return 変換結果
+		 */
+		static double parseDouble(byte[] b, int from, int to){
+			return parseDouble(b, null, from, to);
+		}
+
+		/**
+		 * 文字列をdouble型に変換する．
+		 * @since 1.2
+		 * @param str 文字列
+		 * @return 変換結果
+		 * @see #parseDouble(byte[], int, int)
+		 */
+		static double parseDouble(CharSequence str){
+			return parseDouble(null, str, 0, str.length());
+		}
+
+		/**
+		 * バイト列または文字列の指定範囲をdouble型に変換する．
+		 * <p>
+		 * bがnullでない場合はbを，nullの場合はstrを読みます．<br>
+		 * 指数部は10^9を超えた時点で累積をやめ，小数点の位置と合わせてlongで求めるため，
+		 * 桁数の多い入力でも指数部が折り返したり，範囲内の値に丸められたりしません．
+		 * </p>
+		 * @since 1.2
+		 * @param b バイト列
+		 * @param str 文字列
+		 * @param from 開始位置
+		 * @param to 終了位置(この位置を含まない)
+		 * @return 変換結果
+		 */
+		private static double parseDouble(byte[] b, CharSequence str, int from, int to){
+			int i = from;
+			boolean negative = false;
+			if(i<to && (charAt(b, str, i)=='-' || charAt(b, str, i)=='+')){
+				negative = charAt(b, str, i)=='-';
+				i++;
+			}
+			long mantissa = 0; // 符号なし64bitとして扱う
+			int digits = 0;
+			int mantissaDigits = 0;
+			long point = 0;
+			boolean sawDot = false;
+			boolean sawDigits = false;
+			boolean truncated = false;
+			for(;i<to;i++){
+				int c = charAt(b, str, i);
+				if(c>='0' && c<='9'){
+					sawDigits = true;
+					if(c=='0' && digits==0){
+						point--;
+						continue;
+					}
+					digits++;
+					if(mantissaDigits<19){
+						mantissa = mantissa*10+(c-'0');
+						mantissaDigits++;
+					}
+					else if(c!='0') truncated = true;
+				}
+				else if(c=='.' && !sawDot){
+					sawDot = true;
+					point = digits;
+				}
+				else break;
+			}
+			if(!sawDot) point = digits;
+			long exponent = 0;
+			if(sawDigits && i<to && (charAt(b, str, i)=='e' || charAt(b, str, i)=='E')){
+				i++;
+				boolean negativeExponent = false;
+				if(i<to && (charAt(b, str, i)=='-' || charAt(b, str, i)=='+')){
+					negativeExponent = charAt(b, str, i)=='-';
+					i++;
+				}
+				if(i>=to) return fallback(b, str, from, to);
+				for(;i<to;i++){
+					int digit = charAt(b, str, i)-'0';
+					if(digit<0 || digit>9) break;
+					if(exponent<1000000000L) exponent = exponent*10+digit;
+				}
+				if(negativeExponent) exponent = -exponent;
+			}
+			if(!sawDigits || i!=to) return fallback(b, str, from, to);
+			long exp10 = point-mantissaDigits+exponent;
+			// toDoubleで範囲外として扱われる大きさに飽和させる
+			exp10 = Math.max(Integer.MIN_VALUE/2, Math.min(Integer.MAX_VALUE/2, exp10));
+			double value = toDouble(negative, mantissa, (int)exp10, truncated);
+			return value==value ? value : fallback(b, str, from, to);
+		}
+
+		/**
+		 * バイト列または文字列のi番目の文字を取得する．
+		 * @since 1.2
+		 */
+		private static int charAt(byte[] b, CharSequence str, int i){
+			return b!=null ? b[i] : str.charAt(i);
+		}
+
+		/**
+		 * 十進表記の仮数部と指数部から，正確に丸められたdouble値を求める．
+		 * <p>
+		 * 仮数部と指数部が小さく，一回の乗除算で正確に丸められる場合は直接計算し，
+		 * それ以外の場合はEisel-Lemireのアルゴリズムで求めます．<br>
+		 * 仮数部が19桁を超えて切り捨てられている場合は，仮数部+1でも同じ結果になる場合のみ採用します．<br>
+		 * 非正規化数など，正確に求められない場合はNaNを返すため，呼び出し側でフォールバックしてください．
+		 * </p>
+		 * @since 1.2
+		 * @param negative 負数かどうか
+		 * @param mantissa 仮数部(符号なし64bit)
+		 * @param exp10 10進指数部
+		 * @param truncated 仮数部が切り捨てられているかどうか
+		 * @return 変換結果，求められない場合はNaN
+		 */
+		private static double toDouble(boolean negative, long mantissa, int exp10, boolean truncated){
+			if(mantissa==0) return negative ? -0.0 : 0.0;
+			if(!truncated && mantissa>0 && mantissa<=(1L<<53)){
+				double value = mantissa;
+				if(exp10>=0 && exp10<=22) return negative ? -(value*POW10[exp10]) : value*POW10[exp10];
+				if(exp10<0 && exp10>=-22) return negative ? -(value/POW10[-exp10]) : value/POW10[-exp10];
+				if(exp10>22 && exp10<=22+15){
+					value *= POW10[exp10-22];
+					if(value<(1L<<53)) return negative ? -(value*POW10[22]) : value*POW10[22];
+				}
+			}
+			long bits = eiselLemire(mantissa, exp10, negative);
+			if(bits==FAILED) return Double.NaN;
+			if(truncated && eiselLemire(mantissa+1, exp10, negative)!=bits) return Double.NaN;
+			return Double.longBitsToDouble(bits);
+		}
+
+		/**
+		 * Eisel-Lemireのアルゴリズムで，仮数部×10^exp10に最も近いdouble値のビット列を求める．
+		 * <p>
+		 * 128bitに切り捨てた10の累乗との積から仮数部の上位ビットを取り出し，
+		 * 切り捨て誤差で丸め方向が決まらない場合のみ失敗とします．
+		 * </p>
+		 * @since 1.2
+		 * @param mantissa 0でない仮数部(符号なし64bit)
+		 * @param exp10 10進指数部
+		 * @param negative 負数かどうか
+		 * @return double値のビット列，求められない場合はFAILED
+		 */
+		private static long eiselLemire(long mantissa, int exp10, boolean negative){
+			if(exp10<MIN_EXP10 || exp10>MAX_EXP10) return FAILED;
+			int clz = Long.numberOfLeadingZeros(mantissa);
+			long man = mantissa<<clz;
+			long exp2 = ((217706L*exp10)>>16)+64+1023-clz;
+			int index = exp10-MIN_EXP10;
+			long xHi = unsignedMultiplyHigh(man, POW10_HI[index]);
+			long xLo = man*POW10_HI[index];
+			if((xHi&0x1FF)==0x1FF && Long.compareUnsigned(xLo+man, man)<0){
+				long yHi = unsignedMultiplyHigh(man, POW10_LO[index]);
+				long yLo = man*POW10_LO[index];
+				long mergedHi = xHi;
+				long mergedLo = xLo+yHi;
+				if(Long.compareUnsigned(mergedLo, xLo)<0) mergedHi++;
+				if((mergedHi&0x1FF)==0x1FF && mergedLo+1==0 && Long.compareUnsigned(yLo+man, man)<0) return FAILED;
+				xHi = mergedHi;
+				xLo = mergedLo;
+			}
+			long msb = xHi>>>63;
+			long result = xHi>>>(msb+9);
+			exp2 -= 1^msb;
+			if(xLo==0 && (xHi&0x1FF)==0 && (result&3)==1) return FAILED;
+			result += result&1;
+			result >>>= 1;
+			if((result>>>53)>0){
+				result >>>= 1;
+				exp2++;
+			}
+			if(exp2<=0 || exp2>=0x7FF) return FAILED;
+			long bits = (exp2<<52) | (result&0x000FFFFFFFFFFFFFL);
+			return negative ? bits|0x8000000000000000L : bits;
+		}
+
+		/**
+		 * 符号なし64bit同士の積の上位64bitを求める．
+		 * @since 1.2
+		 */
+		private static long unsignedMultiplyHigh(long x, long y){
+			return Math.multiplyHigh(x, y)+((x>>63)&y)+((y>>63)&x);
+		}
+
+		/**
+		 * バイト列または文字列の指定範囲をDouble.parseDoubleで変換する．
+		 * @since 1.2
+		 */
+		private static double fallback(byte[] b, CharSequence str, int from, int to){
+			return Double.parseDouble(b!=null ? new String(b, from, to-from, StandardCharsets.UTF_8)
+					: str.subSequence(from, to).toString());
+		}
+
+		/**
+		 * 変換できなかった場合の例外を作成する．
+		 * @since 1.2
+		 */
+		private static NumberFormatException numberFormatException(byte[] b, int from, int to){
+			return new NumberFormatException("For input string: \""+new String(b, from, to-from, StandardCharsets.UTF_8)+"\"");
+		}
+	}
+
+	/**
+	 * 文字列を高速にdouble型に変換する．
+	 * <p>
+	 * Double.parseDoubleと結果がビット単位で一致し，スローされる例外も同じです．<br>
+	 * 通常の十進表記はEisel-Lemireのアルゴリズムにより，BigIntegerなどを使わずに変換されます．
+	 * </p>
+	 * @since 1.2
+	 * @param str 文字列
+	 * @return 変換結果
+	 */
+	public static double parseDouble(String str){
+		return NumberParser.parseDouble(str);
+	}
+
+	/**
+	 * 高速標準入力．
+	 * <p>
+	 * 以下のように使用します．<br>
+	 * <code>
+	 * public class Main{
+	 * 	FastScanner in = new FastScanner(System.in);
+	 * 	PrintWriter out = new PrintWriter(System.out);
+	 *
+	 * 	public void run() {
+	 * 		System.out.println(in.nextInt() * in.nextInt());
+	 * 		out.close();
+	 * 	}
+	 *
+	 * 	public static void main(String[] args) {
+	 * 		new Main().run();
+	 * 	}
+	 * }
+	 * </code>
+	 * </p>
+	 * <p>
+	 * 1.2よりバッファサイズを指定でき，InputStreamの他にReadableByteChannel(FileChannelなど)と
+	 * ByteBufferからも読み込めます．<br>
+	 * また，数値は文字列を作らずにバッファから直接変換され，文字列はUTF-8としてデコードされます．
+	 * </p>
+	 * @since 1.0
+	 * @deprecated 競技プログラミング用です．
 	 */
-	public static void printRate(List<Integer> list){
-		Map<Integer, Integer> map = countElement(list);
-		int size = list.size();
-		for(Integer key : map.keySet()){
-			double rto = (map.get(key)*100/(double)size);
-			System.out.printf("key : < %d >\t...(%4d) [%.2f%s]\n",key,map.get(key),rto,"%");
+	public static class FastScanner {
+		private static final int DEFAULT_BUFFER_SIZE = 1024;
+		private InputStream stream;
+		private ReadableByteChannel channel;
+		private ByteBuffer source;
+		private ByteBuffer wrapped;
+		private byte[] buf;
+		private int curChar;
+		private int numChars;
+		private byte[] token = new byte[64];
+		private byte[] tokenBytes;
+		private int tokenStart;
+		private int tokenLength;
+		private final ByteToken view = new ByteToken();
+
+		public FastScanner(InputStream stream) {
+			this(stream, DEFAULT_BUFFER_SIZE);
+		}
+
+		/**
+		 * @since 1.2
+		 */
+		public FastScanner(InputStream stream, int bufferSize) {
+			this.stream = stream;
+			this.buf = new byte[bufferSize];
+		}
+
+		/**
+		 * @since 1.2
+		 */
+		public FastScanner(ReadableByteChannel channel) {
+			this(channel, 1 << 16);
+		}
+
+		/**
+		 * @since 1.2
+		 */
+		public FastScanner(ReadableByteChannel channel, int bufferSize) {
+			this.channel = channel;
+			this.buf = new byte[bufferSize];
+			this.wrapped = ByteBuffer.wrap(buf);
+		}
+
+		/**
+		 * ByteBufferの残りの内容を読み込む．
+		 * <p>
+		 * 配列を持つByteBufferの場合はコピーせずに直接読み込みます．
+		 * </p>
+		 * @since 1.2
+		 */
+		public FastScanner(ByteBuffer source) {
+			this.source = source;
+			if (source.hasArray()) {
+				this.buf = source.array();
+				this.curChar = source.arrayOffset() + source.position();
+				this.numChars = source.arrayOffset() + source.limit();
+				source.position(source.limit());
+			} else {
+				this.buf = new byte[1 << 16];
+			}
+		}
+
+		private int fill() throws IOException {
+			if (stream != null)
+				return stream.read(buf);
+			if (channel != null) {
+				wrapped.clear();
+				return channel.read(wrapped);
+			}
+			int n = Math.min(source.remaining(), buf.length);
+			if (n == 0)
+				return -1;
+			source.get(buf, 0, n);
+			return n;
+		}
+
+		int read() {
+			if (numChars == -1)
+				throw new InputMismatchException();
+			if (curChar >= numChars) {
+				curChar = 0;
+				try {
+					numChars = fill();
+				} catch (IOException e) {
+					throw new InputMismatchException();
+				}
+				if (numChars <= 0)
+					return -1;
+			}
+			return buf[curChar++] & 0xFF;
+		}
+
+		boolean isSpaceChar(int c) {
+			return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == -1;
+		}
+
+		boolean isEndline(int c) {
+			return c == '\n' || c == '\r' || c == -1;
+		}
+
+		int nextInt() {
+			long value = nextLong();
+			if (value != (int) value)
+				throw new NumberFormatException("int型の範囲を超えています : " + value);
+			return (int) value;
+		}
+
+		int[] nextIntArray(int n) {
+			int[] array = new int[n];
+			for (int i = 0; i < n; i++)
+				array[i] = nextInt();
+			return array;
+		}
+
+		long nextLong() {
+			int c = read();
+			while (isSpaceChar(c))
+				c = read();
+			boolean negative = false;
+			if (c == '-' || c == '+') {
+				negative = c == '-';
+				c = read();
+				if (isSpaceChar(c))
+					throw new NumberFormatException("数字がありません．");
+			}
+			long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+			long multmin = limit / 10;
+			long result = 0;
+			do {
+				int digit = c - '0';
+				if (digit < 0 || digit > 9)
+					throw new NumberFormatException("数字ではない文字が含まれています : " + (char) (c & 0xFF));
+				if (result < multmin || result * 10 < limit + digit)
+					throw new NumberFormatException("long型の範囲を超えています．");
+				result = result * 10 - digit;
+				c = read();
+			} while (!isSpaceChar(c));
+			return negative ? result : -result;
+		}
+
+		long[] nextLongArray(int n) {
+			long[] array = new long[n];
+			for (int i = 0; i < n; i++)
+				array[i] = nextLong();
+			return array;
+		}
+
+		double nextDouble() {
+			scanToken(false);
+			return NumberParser.parseDouble(tokenBytes, tokenStart, tokenStart + tokenLength);
+		}
+
+		double[] nextDoubleArray(int n) {
+			double[] array = new double[n];
+			for (int i = 0; i < n; i++)
+				array[i] = nextDouble();
+			return array;
+		}
+
+		/**
+		 * 次のトークンまたは行をバイト列のまま読み込む．
+		 * <p>
+		 * バッファ内の連続した範囲をまとめて走査し，トークンがバッファ内に収まっていれば
+		 * コピーせずにバッファを直接参照します．<br>
+		 * 結果はtokenBytesのtokenStartからtokenLengthバイトです．
+		 * </p>
+		 * @since 1.2
+		 * @param line 行単位で読み込むかどうか
+		 */
+		private void scanToken(boolean line) {
+			int c = read();
+			while (line ? isEndline(c) : isSpaceChar(c))
+				c = read();
+			int start = curChar - 1;
+			int i = scanRun(curChar, line);
+			if (i < numChars) {
+				tokenBytes = buf;
+				tokenStart = start;
+				tokenLength = i - start;
+				curChar = i + 1;
+				return;
+			}
+			int length = 0;
+			while (true) {
+				int n = i - start;
+				if (length + n > token.length)
+					token = Arrays.copyOf(token, Math.max(token.length * 2, length + n));
+				System.arraycopy(buf, start, token, length, n);
+				length += n;
+				if (i < numChars) {
+					curChar = i + 1;
+					break;
+				}
+				curChar = i;
+				c = read();
+				if (line ? isEndline(c) : isSpaceChar(c))
+					break;
+				start = curChar - 1;
+				i = scanRun(curChar, line);
+			}
+			tokenBytes = token;
+			tokenStart = 0;
+			tokenLength = length;
+		}
+
+		/**
+		 * バッファ内で次の区切り文字の位置を探す．
+		 * @since 1.2
+		 * @return 区切り文字の位置，見つからなければnumChars
+		 */
+		private int scanRun(int from, boolean line) {
+			int i = from;
+			if (line) {
+				while (i < numChars && !isEndline(buf[i] & 0xFF))
+					i++;
+			} else {
+				while (i < numChars && !isSpaceChar(buf[i] & 0xFF))
+					i++;
+			}
+			return i;
+		}
+
+		/**
+		 * 読み込んだバイト列をUTF-8として文字列に変換する．
+		 * <p>
+		 * ASCII文字のみの場合はデコードを行わずに変換します．
+		 * </p>
+		 * @since 1.2
+		 */
+		private String decodeToken() {
+			return ByteToken.decode(tokenBytes, tokenStart, tokenLength);
+		}
+
+		String next() {
+			scanToken(false);
+			return decodeToken();
+		}
+
+		/**
+		 * 次のトークンを文字列を作らずに取得する．
+		 * <p>
+		 * 返されるByteTokenは再利用されるため，次の読込みまでの間のみ有効です．<br>
+		 * 保持する場合はByteToken#copy()で複製してください．
+		 * </p>
+		 * @since 1.2
+		 * @return トークンのバイト列ビュー
+		 */
+		ByteToken nextByteToken() {
+			scanToken(false);
+			view.set(tokenBytes, tokenStart, tokenLength);
+			return view;
+		}
+
+		String[] nextStringArray(int n) {
+			String[] array = new String[n];
+			for (int i = 0; i < n; i++)
+				array[i] = next();
+			return array;
+		}
+
+		String nextLine() {
+			scanToken(true);
+			return decodeToken();
 		}
 	}
 
 	/**
-	 * リスト内要素について，何が何個格納されているのを何種類あるか と全体に対しての割合を出力する．
+	 * UTF-8バイト列のビュー．
 	 * <p>
-	 * e.g. list {1,1,1,2,2,3,3,4,4,5,6} であれば，<br>
-	 * value種類数(species)は，6である．
-	 * map {1elements=2species (0.33%), 2elements=3species (0.5%), 3elements=1species (0.17%)}<br>
-	 * が出力される．
+	 * FastScannerのトークンなどを文字列を作らずに比較やハッシュに使用するためのクラスです．<br>
+	 * equalsとhashCodeはバイト列の内容で判定されるため，copy()したものはMapのキーにも使用できます．
 	 * </p>
-	 * @since 1.0
-	 * @param list 対象のリスト
+	 * @author T.Koike
+	 * @since 1.2
 	 */
-	public static void printCountRate(List<Integer> list){
-		Map<Integer, Integer> map = countValue(countElement(list));
-		int size = list.size();
-		for(Integer value : map.keySet()){
-			double rto = (map.get(value)*100/(double)size);
+	public static final class ByteToken {
+		private byte[] bytes;
+		private int offset;
+		private int length;
 
-			System.out.printf("value : < %d >\t...(%4d) [%.2f%s]\n",value,map.get(value),rto,"%");
+		ByteToken() {
+			this(new byte[0], 0, 0);
 		}
-	}
 
-	/**
-	 * mapのvalueについて，何がいくつ格納されているかを返す．
-	 * @since 1.0
-	 * @param map 対象となるmap
-	 * @return map<valueに格納されている要素名,要素名に対する個数>
-	 */
-	public static Map<Integer, Integer> countValue(Map<Integer, Integer> map){
-		Map<Integer, Integer> ans = new TreeMap<Integer, Integer>();
-		for(Integer key : map.keySet()){
-			Integer value = map.get(key);
-			if(ans.containsKey(value)){
-				Integer before = ans.get(value);
-				ans.put(value, ++before);
-			}
-			else ans.put(value, 1);
+		/**
+		 * バイト列の指定範囲を参照するByteTokenを発行する．
+		 * @since 1.2
+		 * @param bytes バイト列
+		 * @param offset 開始位置
+		 * @param length バイト長
+		 */
+		public ByteToken(byte[] bytes, int offset, int length) {
+			set(bytes, offset, length);
 		}
-		return ans;
-	}
 
-	/**
-	 * mapのvalue総和を求める．
-	 * @since 1.0
-	 * @param map 対象となるmap
-	 * @return value総和
-	 */
-	public static Integer getValueSum(Map<Integer, Integer> map){
-		int sum = 0;
-		for(Integer key : map.keySet()){
-			sum += map.get(key);
+		void set(byte[] bytes, int offset, int length) {
+			this.bytes = bytes;
+			this.offset = offset;
+			this.length = length;
 		}
-		return sum;
-	}
 
+		/**
+		 * バイト長を取得する．
+		 * @since 1.2
+		 * @return バイト長
+		 */
+		public int length() {
+			return length;
+		}
 
-	/*――――――――――――――――――――――――――――――
-	 * 演算
-	 * ――――――――――――――――――――――――――――――*/
+		/**
+		 * 指定位置のバイトを取得する．
+		 * @since 1.2
+		 * @param index 位置
+		 * @return バイト
+		 */
+		public byte byteAt(int index) {
+			if (index < 0 || index >= length)
+				throw new IndexOutOfBoundsException(String.valueOf(index));
+			return bytes[offset + index];
+		}
 
-	/**
-	 * 積和演算(乗累算)を行う．
-	 * <p>
-	 * Multiply and ACcumulation．<br>
-	 * つまり、sigma(map.keyset) key*value
-	 * <p>
-	 * @since 1.0
-	 * @param map 積和演算計算対象Map
-	 * @return 積和演算結果
-	 */
-	public static Integer getMAC(Map<Integer, Integer> map){
-		int sum = 0;
-		for(Integer key : map.keySet()){
-			Integer value = map.get(key);
-			sum += key*value;
+		/**
+		 * ASCII文字のみで構成されているか判定する．
+		 * @since 1.2
+		 * @return ASCII文字のみであるかどうか
+		 */
+		public boolean isAscii() {
+			for (int i = offset, end = offset + length; i < end; i++) {
+				if (bytes[i] < 0)
+					return false;
+			}
+			return true;
 		}
-		return sum;
-	}
 
-	/**
-	 * 指定されたサイズをn分割した際の、分割点インデックスを得る．
-	 * @since 1.0
-	 * @param n 分割数
-	 * @param size 分割前要素数
-	 * @return Map<part,start>
-	 */
-	public static Map<Integer, Integer> getStartPosDivideN(int n, int size){
-		Map<Integer, Integer> map = new TreeMap<Integer, Integer>();
-		int index = 0;
-		int slide = size/n;
-		for(int i=0;i<n;i++){
-			map.put(i, index);
-			index+=slide;
+		/**
+		 * 文字列とUTF-8として同じ内容か判定する．
+		 * <p>
+		 * 文字列を一文字ずつUTF-8に符号化しながら比較するため，文字列は作成されません．
+		 * </p>
+		 * @since 1.2
+		 * @param cs 比較対象の文字列
+		 * @return 同じ内容であるかどうか
+		 */
+		public boolean contentEquals(CharSequence cs) {
+			int p = offset;
+			int end = offset + length;
+			int n = cs.length();
+			for (int i = 0; i < n; i++) {
+				int cp = cs.charAt(i);
+				if (cp < 0x80) {
+					if (p >= end || bytes[p++] != cp)
+						return false;
+					continue;
+				}
+				if (Character.isSurrogate((char) cp)) {
+					if (Character.isHighSurrogate((char) cp) && i + 1 < n && Character.isLowSurrogate(cs.charAt(i + 1)))
+						cp = Character.toCodePoint((char) cp, cs.charAt(++i));
+					else
+						cp = '?';
+				}
+				int size = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+				if (p + size > end)
+					return false;
+				switch (size) {
+				case 1:
+					if (bytes[p++] != cp)
+						return false;
+					break;
+				case 2:
+					if (bytes[p++] != (byte) (0xC0 | (cp >> 6)))
+						return false;
+					break;
+				case 3:
+					if (bytes[p++] != (byte) (0xE0 | (cp >> 12)) || bytes[p++] != (byte) (0x80 | ((cp >> 6) & 0x3F)))
+						return false;
+					break;
+				default:
+					if (bytes[p++] != (byte) (0xF0 | (cp >> 18)) || bytes[p++] != (byte) (0x80 | ((cp >> 12) & 0x3F))
+							|| bytes[p++] != (byte) (0x80 | ((cp >> 6) & 0x3F)))
+						return false;
+				}
+				if (size > 1 && bytes[p++] != (byte) (0x80 | (cp & 0x3F)))
+					return false;
+			}
+			return p == end;
 		}
-		return map;
-	}
 
-	/**
-	 * サロゲートペア(顔文字)を考慮した文字列長を取得する．
-	 * @since 1.0
-	 * @param str 文字列
-	 * @return 文字長
-	 * @deprecated getSuperLengthでUnicodeの濁点も考慮されます．
-	 */
-	public static int getCodePointCount(String str) {
-		return str.codePointCount(0, str.length());
-	}
+		/**
+		 * 内容を複製したByteTokenを取得する．
+		 * @since 1.2
+		 * @return 複製されたByteToken
+		 */
+		public ByteToken copy() {
+			return new ByteToken(Arrays.copyOfRange(bytes, offset, offset + length), 0, length);
+		}
 
-	/**
-	 * サロゲートペア(顔文字など)とUnicodeの濁点を考慮した文字長を取得する．
-	 * @since 1.0
-	 * @param str 文字列
-	 * @return 文字長
-	 */
-	public static int getSuperLength(String str) {
-		String after = Normalizer.normalize(str, Normalizer.Form.NFC);
-		return after.codePointCount(0, after.length());
-	}
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof ByteToken))
+				return false;
+			ByteToken t = (ByteToken) o;
+			if (length != t.length)
+				return false;
+			for (int i = 0; i < length; i++) {
+				if (bytes[offset + i] != t.bytes[t.offset + i])
+					return false;
+			}
+			return true;
+		}
 
-	/*――――――――――――――――――――――――――――――
-	 * システムまたファイル操作
-	 * ――――――――――――――――――――――――――――――*/
+		@Override
+		public int hashCode() {
+			int h = 1;
+			for (int i = offset, end = offset + length; i < end; i++)
+				h = 31 * h + bytes[i];
+			return h;
+		}
 
-	/**
-	 * 強制的にガベージコレクションを実行する．
-	 * @since 1.0
-	 */
-	public static void doGarbageCollection(){
-		System.gc();
+		/**
+		 * UTF-8として文字列に変換する．
+		 * @since 1.2
+		 */
+		@Override
+		public String toString() {
+			return decode(bytes, offset, length);
+		}
+
+		/**
+		 * バイト列をUTF-8として文字列に変換する．
+		 * <p>
+		 * ASCII文字のみの場合はデコードを行わずに変換します．
+		 * </p>
+		 * @since 1.2
+		 */
+		static String decode(byte[] bytes, int offset, int length) {
+			for (int i = offset, end = offset + length; i < end; i++) {
+				if (bytes[i] < 0)
+					return new String(bytes, offset, length, StandardCharsets.UTF_8);
+			}
+			return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+		}
 	}
 
 	/**
-	 * 指定した秒数だけ実行を一時停止．
+	 * 高速出力．
 	 * <p>
-	 * try-catchを行います．<br>
+	 * FastScannerに対応する出力用のクラスです．<br>
+	 * 数値は文字列を作らずに再利用されるバイト列バッファへ直接書き込まれ，
+	 * バッファが一杯になるとFileChannelまたはOutputStreamへまとめて出力されます．<br>
+	 * 文字列は既定の文字コードで符号化されます．<br>
+	 * 各メソッドはtry-catchを行います．<br>
 	 * そのため例外はスローされません．
 	 * </p>
-	 * @since 1.0
-	 * @param seconds 一時停止させる秒数
+	 * @author T.Koike
+	 * @since 1.2
 	 */
-	public static void sleepSec(int seconds){
-		try {
-			Thread.sleep(seconds*1000);
-		} catch (InterruptedException e) {
-			System.err.println(e);
+	public static class FastPrinter implements Closeable, Flushable {
+		private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+		private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+		private static final long[] POW10 = {
+			1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+			10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+			1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L
+		};
+
+		/** 最短表記の10進指数部の範囲 */
+		private static final int K_MIN = -324;
+		private static final int K_MAX = 292;
+		private static final long MASK_63 = 0x7FFFFFFFFFFFFFFFL;
+		/** 非正規化数の最小の指数部と，正規化数の仮数部の暗黙のビット */
+		private static final int Q_MIN = -1074;
+		private static final long C_MIN = 1L << 52;
+		/** 仮数部をこれより小さい非正規化数は，10倍して一桁下から求める */
+		private static final int C_TINY = 3;
+
+		/**
+		 * 10^(-k)の仮数部を126bitに切り捨てて1を足したものの上位63bitと下位63bit．
+		 * <p>
+		 * 10^(-k) = β×2^r (2^125≦β＜2^126) としたとき，floor(β)+1 を分割したものです．
+		 * </p>
+		 */
+		private static final long[] G1 = new long[K_MAX-K_MIN+1];
+		private static final long[] G0 = new long[K_MAX-K_MIN+1];
+
+		static {
+			for(int k=K_MIN;k<=K_MAX;k++){
+				int r = flog2pow10(-k)-125;
+				BigInteger p = BigInteger.TEN.pow(Math.abs(k));
+				BigInteger g;
+				if(k<=0) g = r>=0 ? p.shiftRight(r) : p.shiftLeft(-r);
+				else g = BigInteger.ONE.shiftLeft(-r).divide(p);
+				g = g.add(BigInteger.ONE);
+				G1[k-K_MIN] = g.shiftRight(63).longValue();
+				G0[k-K_MIN] = g.longValue() & MASK_63;
+			}
 		}
-	}
 
-	/**
-	 * システムプロパティ情報を出力する．
-	 * @since 1.0
-	 */
-	public static void printProperties(){
-		Properties props = System.getProperties();
-		props.list(System.err);
-	}
+		private final OutputStream stream;
+		private final WritableByteChannel channel;
+		private final Charset charset = Charset.defaultCharset();
+		private final byte[] buf;
+		private final ByteBuffer wrapped;
+		private int pos;
+		/** toDecimalで求めた10進指数部 */
+		private int decimalExponent;
+		/** 仮数部の各桁の作業領域 */
+		private final byte[] decimalDigits = new byte[20];
 
-	/**
-	 * Java 仮想マシンのメモリ情報を返す．
-	 * @since 1.0
-	 */
-	public static void printMemoryInfo() {
-		DecimalFormat f1 = new DecimalFormat("#,###KB");
-		DecimalFormat f2 = new DecimalFormat("##.#");
-		long free = Runtime.getRuntime().freeMemory()/1024;
-		long total = Runtime.getRuntime().totalMemory()/1024;
-		long max = Runtime.getRuntime().maxMemory()/1024;
-		long used = total - free;
-		double ratio = (used * 100 / (double) total );
-		String info = "Total = " + f1.format(total) + " , " +
-				"Used = " + f1.format(used) + " (" + f2.format(ratio) + "%) , " +
-				"Free = "+f1.format(max);
-		System.err.println(info);
-	}
+		/**
+		 * 指定されたファイルパスでFastPrinterを発行する．
+		 * @since 1.2
+		 * @param path ファイルパス
+		 */
+		public FastPrinter(String path){
+			this(path, false);
+		}
 
-	/**
-	 * ストップウォッチ
-	 * <p>
-	 * 実行時間を計測することができます．
-	 * </p>
-	 * @author T.Koike
-	 * @since 1.0
-	 */
-	public static class StopWatch {
-		private long SplitTime;
-		private long LapTime;
+		/**
+		 * 指定されたファイルパスでFastPrinterを発行する．
+		 * @since 1.2
+		 * @param path ファイルパス
+		 * @param append 上書きフラグ
+		 */
+		public FastPrinter(String path, boolean append){
+			this(KoikeLibrary.getOutputStream(path, append).getChannel(), DEFAULT_BUFFER_SIZE);
+		}
+
+		/**
+		 * 指定されたOutputStreamへ出力するFastPrinterを発行する．
+		 * @since 1.2
+		 * @param stream 出力先
+		 */
+		public FastPrinter(OutputStream stream){
+			this(stream, DEFAULT_BUFFER_SIZE);
+		}
+
+		/**
+		 * 指定されたOutputStreamへ出力するFastPrinterを発行する．
+		 * @since 1.2
+		 * @param stream 出力先
+		 * @param bufferSize バッファサイズ
+		 */
+		public FastPrinter(OutputStream stream, int bufferSize){
+			this.stream = stream;
+			this.channel = null;
+			this.buf = new byte[Math.max(bufferSize, 64)];
+			this.wrapped = null;
+		}
+
+		/**
+		 * 指定されたチャネルへ出力するFastPrinterを発行する．
+		 * @since 1.2
+		 * @param channel 出力先
+		 */
+		public FastPrinter(WritableByteChannel channel){
+			this(channel, DEFAULT_BUFFER_SIZE);
+		}
+
+		/**
+		 * 指定されたチャネルへ出力するFastPrinterを発行する．
+		 * @since 1.2
+		 * @param channel 出力先
+		 * @param bufferSize バッファサイズ
+		 */
+		public FastPrinter(WritableByteChannel channel, int bufferSize){
+			this.stream = null;
+			this.channel = channel;
+			this.buf = new byte[Math.max(bufferSize, 64)];
+			this.wrapped = ByteBuffer.wrap(buf);
+		}
+
+		/**
+		 * バッファに指定バイト数の空きを確保する．
+		 * @since 1.2
+		 * @param n 必要なバイト数
+		 */
+		private void ensure(int n){
+			if(pos+n>buf.length) flushBuffer();
+		}
+
+		/**
+		 * バッファの内容を出力先へ書き込む．
+		 * @since 1.2
+		 */
+		private void flushBuffer(){
+			if(pos==0) return;
+			try {
+				if(stream!=null){
+					stream.write(buf, 0, pos);
+				}
+				else{
+					wrapped.clear();
+					wrapped.limit(pos);
+					while(wrapped.hasRemaining()) channel.write(wrapped);
+				}
+			} catch (IOException e) {
+				System.err.println("書き込めませんでした．");
+				e.printStackTrace();
+			}
+			pos = 0;
+		}
+
+		/**
+		 * 一文字(ASCII文字)を書き込む．
+		 * @since 1.2
+		 * @param c 書き込む文字
+		 */
+		public void writeChar(char c){
+			if(c>=0x80){
+				write(String.valueOf(c));
+				return;
+			}
+			ensure(1);
+			buf[pos++] = (byte)c;
+		}
 
 		/**
-		 * ストップウォッチをスタートします．
-		 * <p>
-		 * コンストラクタを呼び出すことで，リスタートすることが可能です．
-		 * </p>
-		 * @since 1.0
+		 * int値を書き込む．
+		 * @since 1.2
+		 * @param v 書き込む値
 		 */
-		public StopWatch(){
-			SplitTime = System.currentTimeMillis();
-			LapTime = System.currentTimeMillis();
+		public void writeInt(int v){
+			writeLong(v);
 		}
 
 		/**
-		 * スプリットタイムを取得します．
-		 * @since 1.0
-		 * @return スプリットタイム
+		 * long値を書き込む．
+		 * @since 1.2
+		 * @param v 書き込む値
 		 */
-		public long getSplitTime(){
-			return System.currentTimeMillis() - SplitTime;
+		public void writeLong(long v){
+			ensure(20);
+			if(v==Long.MIN_VALUE){
+				buf[pos++] = '-';
+				buf[pos++] = '9';
+				v = 223372036854775808L;
+			}
+			if(v<0){
+				buf[pos++] = '-';
+				v = -v;
+			}
+			int digits = 1;
+			while(digits<19 && v>=POW10[digits]) digits++;
+			int end = pos+digits;
+			for(int i=end-1;i>=pos;i--){
+				buf[i] = (byte)('0'+v%10);
+				v /= 10;
+			}
+			pos = end;
 		}
 
 		/**
-		 * ラップタイムを取得します．
+		 * double値を書き込む．
 		 * <p>
-		 * 次ラップのスタート時間として設定もされます．
+		 * 出力は元の値に戻せる最短の10進表記で，基準はJava 19以降のDouble.toStringの仕様です．<br>
+		 * 10^-3以上10^7未満の値は小数で，それ以外は"1.0E10"のような指数表記で書き込みます．<br>
+		 * 最短表記はSchubfachのアルゴリズムで求め，文字列を作らずにバッファへ直接書き込みます．<br>
+		 * Java 18以前のDouble.toStringとは一部の値で異なります．
+		 * 例えば1e23は"1.0E23"となりますが，Java 18以前のDouble.toStringは"9.999999999999999E22"を返します．
 		 * </p>
-		 * @since 1.0
-		 * @return ラップタイム
+		 * @since 1.2
+		 * @param v 書き込む値
 		 */
-		public long getLapTime(){
-			long time = System.currentTimeMillis() - LapTime;
-			LapTime = System.currentTimeMillis();
-			return time;
+		public void writeDouble(double v){
+			if(v==(long)v && Math.abs(v)<1e7 && !(v==0 && 1/v<0)){
+				writeLong((long)v);
+				ensure(2);
+				buf[pos++] = '.';
+				buf[pos++] = '0';
+				return;
+			}
+			if(writeSpecial(v)) return;
+			long f = toDecimal(Math.abs(v));
+			int length = toDigits(f);
+			int point = length+decimalExponent;
+			ensure(length+8);
+			if(v<0 || (v==0 && 1/v<0)) buf[pos++] = '-';
+			if(f==0){
+				buf[pos++] = '0';
+				buf[pos++] = '.';
+				buf[pos++] = '0';
+				return;
+			}
+			if(point<-2 || point>7){
+				buf[pos++] = decimalDigits[0];
+				buf[pos++] = '.';
+				if(length==1) buf[pos++] = '0';
+				for(int i=1;i<length;i++) buf[pos++] = decimalDigits[i];
+				buf[pos++] = 'E';
+				writeLong(point-1);
+				return;
+			}
+			writePlain(length, point, Math.max(length-point, 1));
 		}
 
 		/**
-		 * スプリットタイムを文字列で取得します．
-		 * @since 1.0
-		 * @return スプリットタイム
+		 * double値を小数点以下の桁数を指定して書き込む．
+		 * <p>
+		 * writeDouble(double)と同じ最短の10進表記を求め，その桁を小数点以下n桁に四捨五入して書き込みます．<br>
+		 * 基準はJava 19以降のString.format("%.nf", v)で，
+		 * 最短の10進表記をBigDecimalとしてsetScale(n, RoundingMode.HALF_UP)した値と同じです．<br>
+		 * Java 18以前のString.formatとは，Double.toStringが最短でない桁を返す値で異なることがあります．<br>
+		 * 文字列を作らずにバッファへ直接書き込みます．
+		 * </p>
+		 * @since 1.2
+		 * @param v 書き込む値
+		 * @param digits 小数点以下の桁数
 		 */
-		public String getSplitTimeString(){
-			return TimeToString(getSplitTime());
+		public void writeDouble(double v, int digits){
+			if(writeSpecial(v)) return;
+			digits = Math.max(digits, 0);
+			long f = toDecimal(Math.abs(v));
+			int exponent = decimalExponent;
+			if(exponent<-digits){
+				int drop = -digits-exponent;
+				int length = toDigits(f);
+				if(drop>length){
+					f = 0;
+				}
+				else{
+					long unit = POW10[drop];
+					long rest = f%unit;
+					f /= unit;
+					if(rest>=unit/2) f++;
+				}
+				exponent = -digits;
+			}
+			ensure(1);
+			if(Double.doubleToRawLongBits(v)<0) buf[pos++] = '-';
+			if(f==0) exponent = 0;
+			int length = toDigits(f);
+			writePlain(length, length+exponent, digits);
 		}
 
 		/**
-		 * ラップタイムを文字列で取得します．
+		 * NaNと無限大をDouble.toStringと同じ形式で書き込む．
+		 * @since 1.2
+		 * @param v 書き込む値
+		 * @return 書き込んだかどうか
+		 */
+		private boolean writeSpecial(double v){
+			if(v!=v) write("NaN");
+			else if(v==Double.POSITIVE_INFINITY) write("Infinity");
+			else if(v==Double.NEGATIVE_INFINITY) write("-Infinity");
+			else return false;
+			return true;
+		}
+
+		/**
+		 * toDigitsで求めた桁を，小数点の位置と小数点以下の桁数を指定して書き込む．
 		 * <p>
-		 * 次ラップのスタート時間として設定もされます．
+		 * 桁の範囲外は0で埋めます．
 		 * </p>
-		 * @since 1.0
-		 * @return ラップタイム
+		 * @since 1.2
+		 * @param length 桁数
+		 * @param point 整数部の桁数(0以下の場合は0.の後に続く0の数の符号を反転したもの)
+		 * @param fraction 小数点以下の桁数(0の場合は小数点を書き込まない)
 		 */
-		public String getLapTimeString(){
-			return TimeToString(getLapTime());
+		private void writePlain(int length, int point, int fraction){
+			if(point<=0){
+				put((byte)'0');
+			}
+			else{
+				for(int i=0;i<point;i++) put(i<length ? decimalDigits[i] : (byte)'0');
+			}
+			if(fraction==0) return;
+			put((byte)'.');
+			for(int i=point;i<point+fraction;i++) put(i>=0 && i<length ? decimalDigits[i] : (byte)'0');
 		}
 
 		/**
-		 * ミリ秒long時間を分かり易く文字列に変換する．
-		 * @since 1.0
-		 * @param time ミリ秒時間
-		 * @return day,hour,minute,second,msec での文字列
+		 * 1バイトを書き込む．
+		 * @since 1.2
+		 * @param b 書き込むバイト
 		 */
-		private String TimeToString(long time){
-			String timeStr;
+		private void put(byte b){
+			if(pos==buf.length) flushBuffer();
+			buf[pos++] = b;
+		}
 
-			//ミリ秒
-			timeStr = String.valueOf(time % 1000) + "ms";
-			//秒
-			if(time >= 1000){
-				time /= 1000;
-				timeStr = String.valueOf(time % 60) + "s "+ timeStr;
-			}else{
-				return timeStr;
+		/**
+		 * 非負の整数の各桁をdecimalDigitsへ格納する．
+		 * @since 1.2
+		 * @param f 整数
+		 * @return 桁数
+		 */
+		private int toDigits(long f){
+			int length = 1;
+			while(length<19 && f>=POW10[length]) length++;
+			for(int i=length-1;i>=0;i--){
+				decimalDigits[i] = (byte)('0'+f%10);
+				f /= 10;
 			}
-			//分
-			if(time >= 60){
-				time /= 60;
-				timeStr = String.valueOf(time % 60) + "m " + timeStr;
-			}else{
-				return timeStr;
+			return length;
+		}
+
+		/**
+		 * 非負のdouble値を，元の値に戻せる最短の10進表記 f×10^e に変換する．
+		 * <p>
+		 * Schubfachのアルゴリズム(R. Giulietti)によります．<br>
+		 * 最短の表記が複数ある場合は元の値に最も近いものを，それも複数ある場合は末尾が偶数のものを選びます．<br>
+		 * 仮数部fは末尾の0を除いたものを返し，指数部eはdecimalExponentに格納します．
+		 * </p>
+		 * @since 1.2
+		 * @param v 非負の有限のdouble値
+		 * @return 仮数部
+		 */
+		private long toDecimal(double v){
+			long bits = Double.doubleToRawLongBits(v);
+			long t = bits & (C_MIN-1);
+			int bq = (int)(bits>>>52);
+			if(bq!=0){
+				int mq = -Q_MIN+1-bq;
+				long c = C_MIN | t;
+				if(0<mq && mq<53){
+					long f = c>>mq;
+					if(f<<mq==c) return removeTrailingZeros(f, 0);
+				}
+				return toDecimal(-mq, c, 0);
 			}
-			//時間
-			if(time >= 60){
-				time /= 60;
-				timeStr = String.valueOf(time % 60) + "h " + timeStr;
+			if(t==0){
+				decimalExponent = 0;
+				return 0;
+			}
+			return t<C_TINY ? toDecimal(Q_MIN, 10*t, -1) : toDecimal(Q_MIN, t, 0);
+		}
+
+		/**
+		 * c×2^q の最短の10進表記を求める．
+		 * @since 1.2
+		 * @param q 2進指数部
+		 * @param c 仮数部
+		 * @param dk 10進指数部の補正
+		 * @return 仮数部
+		 */
+		private long toDecimal(int q, long c, int dk){
+			int out = (int)c & 1;
+			long cb = c<<2;
+			long cbr = cb+2;
+			long cbl;
+			int k;
+			if(c!=C_MIN || q==Q_MIN){
+				cbl = cb-2;
+				k = flog10pow2(q);
 			}
 			else{
-				return timeStr;
+				cbl = cb-1;
+				k = flog10threeQuartersPow2(q);
 			}
-			//日
-			if(time >= 24){
-				time /= 24;
-				timeStr = String.valueOf(time) + "d " + timeStr;
+			int h = q+flog2pow10(-k)+2;
+			long g1 = G1[k-K_MIN];
+			long g0 = G0[k-K_MIN];
+			long vb = rop(g1, g0, cb<<h);
+			long vbl = rop(g1, g0, cbl<<h);
+			long vbr = rop(g1, g0, cbr<<h);
+			long s = vb>>2;
+			if(s>=100){
+				long sp10 = 10*Math.multiplyHigh(s, 115292150460684698L<<4);
+				long tp10 = sp10+10;
+				boolean upin = vbl+out<=sp10<<2;
+				boolean wpin = (tp10<<2)+out<=vbr;
+				if(upin!=wpin) return removeTrailingZeros(upin ? sp10 : tp10, k);
 			}
-			return timeStr;
+			long t = s+1;
+			boolean uin = vbl+out<=s<<2;
+			boolean win = (t<<2)+out<=vbr;
+			if(uin!=win) return removeTrailingZeros(uin ? s : t, k+dk);
+			long cmp = vb-((s+t)<<1);
+			return removeTrailingZeros(cmp<0 || cmp==0 && (s&1)==0 ? s : t, k+dk);
 		}
-	}
 
-	/*――――――――――――――――――――――――――――――
-	 * 高速処理系
-	 * ――――――――――――――――――――――――――――――*/
+		/**
+		 * 仮数部の末尾の0を除き，指数部をdecimalExponentに格納する．
+		 * @since 1.2
+		 */
+		private long removeTrailingZeros(long f, int e){
+			while(f%10==0){
+				f /= 10;
+				e++;
+			}
+			decimalExponent = e;
+			return f;
+		}
 
-	/**
-	 * 高速splitをする．．
-	 * <p>
-	 * 内部実装は，StringTokenizerです．
-	 * </p>
-	 * @since 1.0
-	 * @param str 対象の文字列
-	 * @param delimiter 区切り文字
-	 * @return split結果のString配列
-	 */
-	public static String[] split(String str, String delimiter) {
-		StringTokenizer tokenizer = new StringTokenizer(str, delimiter);
-		String[] resultStr = new String[tokenizer.countTokens()];
-		int i = 0;
-		while (tokenizer.hasMoreTokens()) {
-			resultStr[i++] = tokenizer.nextToken();
+		/**
+		 * 126bitのgとcpの積を2^128で割り，端数があれば最下位ビットを立てたものを求める．
+		 * @since 1.2
+		 */
+		private static long rop(long g1, long g0, long cp){
+			long x1 = Math.multiplyHigh(g0, cp);
+			long y0 = g1*cp;
+			long y1 = Math.multiplyHigh(g1, cp);
+			long z = (y0>>>1)+x1;
+			long vbp = y1+(z>>>63);
+			return vbp | ((z&MASK_63)+MASK_63)>>>63;
 		}
-		return resultStr;
-	}
 
-	/**
-	 * 高速標準入力．
-	 * <p>
-	 * 以下のように使用します．<br>
-	 * <code>
-	 * public class Main{
-	 * 	FastScanner in = new FastScanner(System.in);
-	 * 	PrintWriter out = new PrintWriter(System.out);
-	 *
-	 * 	public void run() {
-	 * 		System.out.println(in.nextInt() * in.nextInt());
-	 * 		out.close();
-	 * 	}
-	 *
-	 * 	public static void main(String[] args) {
-	 * 		new Main().run();
-	 * 	}
-	 * }
-	 * </code>
-	 * </p>
-	 * @since 1.0
-	 * @deprecated 競技プログラミング用です．
-	 */
-	public static class FastScanner {
-		private InputStream stream;
-		private byte[] buf = new byte[1024];
-		private int curChar;
-		private int numChars;
+		/** floor(q×log10(2)) */
+		private static int flog10pow2(int q){
+			return (int)(q*661971961083L>>41);
+		}
 
-		public FastScanner(InputStream stream) {
-			this.stream = stream;
+		/** floor(log10(3/4×2^q)) */
+		private static int flog10threeQuartersPow2(int q){
+			return (int)(q*661971961083L-274743187321L>>41);
 		}
 
-		int read() {
-			if (numChars == -1)
-				throw new InputMismatchException();
-			if (curChar >= numChars) {
-				curChar = 0;
-				try {
-					numChars = stream.read(buf);
-				} catch (IOException e) {
-					throw new InputMismatchException();
+		/** floor(e×log2(10)) */
+		private static int flog2pow10(int e){
+			return (int)(e*913124641741L>>38);
+		}
+
+		/**
+		 * 文字列を書き込む．
+		 * <p>
+		 * ASCII文字のみの場合は文字列を符号化せずに直接書き込みます．
+		 * </p>
+		 * @since 1.2
+		 * @param str 書き込む文字列
+		 */
+		public void write(String str){
+			int n = str.length();
+			for(int i=0;i<n;i++){
+				if(str.charAt(i)>=0x80){
+					writeBytes(str.getBytes(charset));
+					return;
 				}
-				if (numChars <= 0)
-					return -1;
 			}
-			return buf[curChar++];
+			int i = 0;
+			while(i<n){
+				if(pos==buf.length) flushBuffer();
+				int m = Math.min(n-i, buf.length-pos);
+				for(int j=0;j<m;j++) buf[pos+j] = (byte)str.charAt(i+j);
+				pos += m;
+				i += m;
+			}
 		}
 
-		boolean isSpaceChar(int c) {
-			return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == -1;
+		/**
+		 * Objectを書き込む．
+		 * @since 1.2
+		 * @param o 書き込むObject
+		 */
+		public void write(Object o){
+			write(o.toString());
 		}
 
-		boolean isEndline(int c) {
-			return c == '\n' || c == '\r' || c == -1;
+		/**
+		 * バイト列を書き込む．
+		 * @since 1.2
+		 * @param b 書き込むバイト列
+		 */
+		private void writeBytes(byte[] b){
+			int i = 0;
+			while(i<b.length){
+				if(pos==buf.length) flushBuffer();
+				int m = Math.min(b.length-i, buf.length-pos);
+				System.arraycopy(b, i, buf, pos, m);
+				pos += m;
+				i += m;
+			}
 		}
 
-		int nextInt() {
-			return Integer.parseInt(next());
+		/**
+		 * 改行文字を書き込む．
+		 * @since 1.2
+		 */
+		public void newLine(){
+			ensure(LINE_SEPARATOR.length);
+			for(byte b : LINE_SEPARATOR) buf[pos++] = b;
 		}
 
-		int[] nextIntArray(int n) {
-			int[] array = new int[n];
-			for (int i = 0; i < n; i++)
-				array[i] = nextInt();
-			return array;
+		/**
+		 * 文字列を改行文字と共に書き込む．
+		 * @since 1.2
+		 * @param str 書き込む文字列
+		 */
+		public void writeln(String str){
+			write(str);
+			newLine();
 		}
 
-		long nextLong() {
-			return Long.parseLong(next());
+		/**
+		 * Objectを改行文字と共に書き込む．
+		 * @since 1.2
+		 * @param o 書き込むObject
+		 */
+		public void writeln(Object o){
+			write(o.toString());
+			newLine();
 		}
 
-		long[] nextLongArray(int n) {
-			long[] array = new long[n];
-			for (int i = 0; i < n; i++)
-				array[i] = nextLong();
-			return array;
+		/**
+		 * int型配列を区切り文字で区切って書き込む．
+		 * @since 1.2
+		 * @param array 書き込む配列
+		 * @param delimiter 区切り文字
+		 */
+		public void writeDelimited(int[] array, char delimiter){
+			for(int i=0;i<array.length;i++){
+				if(i>0) writeChar(delimiter);
+				writeLong(array[i]);
+			}
 		}
 
-		double nextDouble() {
-			return Double.parseDouble(next());
+		/**
+		 * long型配列を区切り文字で区切って書き込む．
+		 * @since 1.2
+		 * @param array 書き込む配列
+		 * @param delimiter 区切り文字
+		 */
+		public void writeDelimited(long[] array, char delimiter){
+			for(int i=0;i<array.length;i++){
+				if(i>0) writeChar(delimiter);
+				writeLong(array[i]);
+			}
 		}
 
-		double[] nextDoubleArray(int n) {
-			double[] array = new double[n];
-			for (int i = 0; i < n; i++)
-				array[i] = nextDouble();
-			return array;
+		/**
+		 * double型配列を区切り文字で区切って書き込む．
+		 * @since 1.2
+		 * @param array 書き込む配列
+		 * @param delimiter 区切り文字
+		 */
+		public void writeDelimited(double[] array, char delimiter){
+			for(int i=0;i<array.length;i++){
+				if(i>0) writeChar(delimiter);
+				writeDouble(array[i]);
+			}
 		}
 
-		String next() {
-			int c = read();
-			while (isSpaceChar(c))
-				c = read();
-			StringBuilder res = new StringBuilder();
-			do {
-				res.appendCodePoint(c);
-				c = read();
-			} while (!isSpaceChar(c));
-			return res.toString();
+		/**
+		 * double型配列を小数点以下の桁数を指定し，区切り文字で区切って書き込む．
+		 * @since 1.2
+		 * @param array 書き込む配列
+		 * @param delimiter 区切り文字
+		 * @param digits 小数点以下の桁数
+		 */
+		public void writeDelimited(double[] array, char delimiter, int digits){
+			for(int i=0;i<array.length;i++){
+				if(i>0) writeChar(delimiter);
+				writeDouble(array[i], digits);
+			}
 		}
 
-		String[] nextStringArray(int n) {
-			String[] array = new String[n];
-			for (int i = 0; i < n; i++)
-				array[i] = next();
-			return array;
+		/**
+		 * フラッシュする．
+		 * @since 1.2
+		 */
+		@Override
+		public void flush(){
+			flushBuffer();
+			if(stream==null) return;
+			try {
+				stream.flush();
+			} catch (IOException e) {
+				System.err.println("フラッシュできませんでした．");
+				e.printStackTrace();
+			}
 		}
 
-		String nextLine() {
-			int c = read();
-			while (isEndline(c))
-				c = read();
-			StringBuilder res = new StringBuilder();
-			do {
-				res.appendCodePoint(c);
-				c = read();
-			} while (!isEndline(c));
-			return res.toString();
+		/**
+		 * クローズする．
+		 * @since 1.2
+		 */
+		@Override
+		public void close(){
+			flushBuffer();
+			try {
+				if(stream!=null) stream.close();
+				else channel.close();
+			} catch (IOException e) {
+				System.err.println("ファイルをクローズできませんでした．");
+				e.printStackTrace();
+			}
 		}
 	}
 
@@ -1161,54 +7507,434 @@ public class KoikeLibrary {
 
 	/**
 	 * 二つのファイルが同一か判定します．
+	 * <p>
+	 * 1.2よりバイト単位で比較します．<br>
+	 * ファイルサイズが異なる場合は内容を読まずにfalseを返し，
+	 * 同じ場合はメモリマップしたファイルを先頭から比較して最初の差分で打ち切ります．<br>
+	 * そのため改行コードの違いも差分となります．<br>
+	 * gzip圧縮されたファイルは展開して一行ずつ比較します．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
 	 * @since 1.0
 	 * @param path1 ファイル1のパス
 	 * @param path2 ファイル2のパス
 	 * @return 同一であるかどうか
+	 * @see #findFileMismatch(String, String)
 	 */
 	public static boolean isEqualsFile(String path1, String path2){
+		return isEqualsFile(path1, path2, 1);
+	}
+
+	/**
+	 * 二つのファイルが同一か，n分割して並列に判定します．
+	 * <p>
+	 * 各区間はForkJoinPoolの共通プールで比較され，差分が見つかった時点で
+	 * それより後ろの区間の比較は打ち切られます．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path1 ファイル1のパス
+	 * @param path2 ファイル2のパス
+	 * @param n 分割数
+	 * @return 同一であるかどうか
+	 * @see #isEqualsFile(String, String)
+	 */
+	public static boolean isEqualsFile(String path1, String path2, int n){
+		FileChannel channel1 = null;
+		FileChannel channel2 = null;
+		try {
+			channel1 = new FileInputStream(path1).getChannel();
+			channel2 = new FileInputStream(path2).getChannel();
+			if(isGzip(channel1) || isGzip(channel2)) return isEqualsFileByLine(path1, path2);
+			if(channel1.size()!=channel2.size()) return false;
+			return getMismatchOffset(channel1, channel2, channel1.size(), n)<0;
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたファイルが見つかりませんでした．");
+			e.printStackTrace();
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		} catch (UncheckedIOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		} finally {
+			closeQuietly(channel1);
+			closeQuietly(channel2);
+		}
+		return false;
+	}
+
+	/**
+	 * 二つのファイルを一行ずつ比較します．
+	 * @since 1.2
+	 * @param path1 ファイル1のパス
+	 * @param path2 ファイル2のパス
+	 * @return 同一であるかどうか
+	 */
+	private static boolean isEqualsFileByLine(String path1, String path2){
 		MyBufferedReader br1 = new MyBufferedReader(path1);
-		List<String> file1 = br1.readAllLine();
 		MyBufferedReader br2 = new MyBufferedReader(path2);
-		List<String> file2 = br2.readAllLine();
-		if(file1.size()!=file2.size()) {
+		try {
+			while(true){
+				String line1 = br1.readLine();
+				String line2 = br2.readLine();
+				if(line1==null || line2==null) return line1==line2;
+				if(!line1.equals(line2)) return false;
+			}
+		} finally {
 			br1.close();
 			br2.close();
-			return false;
 		}
-		int index = 0;
-		for(String line1 : file1){
-			if(!line1.equals(file2.get(index++))){
-				br1.close();
-				br2.close();
-				return false;
+	}
+
+	/**
+	 * 二つのファイルが最初に異なる位置を取得します．
+	 * <p>
+	 * バイト単位で比較し，最初に異なるバイトの位置とその行番号を返します．<br>
+	 * 一方のファイルがもう一方の先頭部分と一致する場合は，短い方のファイルサイズの位置となります．<br>
+	 * gzip圧縮されたファイルは展開後の位置を求められないため，エラーとしてnullを返します．<br>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path1 ファイル1のパス
+	 * @param path2 ファイル2のパス
+	 * @return 異なる位置，同一の場合またはエラーの場合はnull
+	 */
+	public static FileMismatch findFileMismatch(String path1, String path2){
+		return findFileMismatch(path1, path2, 1);
+	}
+
+	/**
+	 * 二つのファイルが最初に異なる位置を，n分割して並列に取得します．
+	 * <p>
+	 * try-catchを行います．<br>
+	 * そのため例外はスローされません．
+	 * </p>
+	 * @since 1.2
+	 * @param path1 ファイル1のパス
+	 * @param path2 ファイル2のパス
+	 * @param n 分割数
+	 * @return 異なる位置，同一の場合またはエラーの場合はnull
+	 * @see #findFileMismatch(String, String)
+	 */
+	public static FileMismatch findFileMismatch(String path1, String path2, int n){
+		FileChannel channel1 = null;
+		FileChannel channel2 = null;
+		try {
+			channel1 = new FileInputStream(path1).getChannel();
+			channel2 = new FileInputStream(path2).getChannel();
+			if(isGzip(channel1) || isGzip(channel2)){
+				System.err.println("gzip圧縮されたファイルの差分の位置は取得できません．");
+				return null;
+			}
+			long size = Math.min(channel1.size(), channel2.size());
+			long offset = getMismatchOffset(channel1, channel2, size, n);
+			if(offset<0){
+				if(channel1.size()==channel2.size()) return null;
+				offset = size;
+			}
+			return new FileMismatch(offset, countLineFeed(channel1, offset)+1);
+		} catch (FileNotFoundException e) {
+			System.err.println("指定されたファイルが見つかりませんでした．");
+			e.printStackTrace();
+		} catch (IOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		} catch (UncheckedIOException e) {
+			System.err.println("読み込みでエラーが発生しました．");
+			e.printStackTrace();
+		} finally {
+			closeQuietly(channel1);
+			closeQuietly(channel2);
+		}
+		return null;
+	}
+
+	/**
+	 * 二つのファイルの先頭sizeバイトで，最初に異なる位置を得る．
+	 * @since 1.2
+	 * @param channel1 ファイル1のチャネル
+	 * @param channel2 ファイル2のチャネル
+	 * @param size 比較するバイト数
+	 * @param n 分割数，1以下の場合は並列に処理しない
+	 * @return 最初に異なる位置，同一の場合は-1
+	 * @throws IOException
+	 */
+	private static long getMismatchOffset(FileChannel channel1, FileChannel channel2, long size, int n)
+			throws IOException {
+		if(n<=1) return getMismatchOffset(channel1, channel2, 0, size, null);
+		long[] bounds = getRangeDivideN(n, size);
+		AtomicLong found = new AtomicLong(Long.MAX_VALUE);
+		return ForkJoinPool.commonPool().invoke(new MismatchTask(channel1, channel2, bounds, 0, n, found));
+	}
+
+	/**
+	 * 二つのファイルの区間[from,to)で，最初に異なる位置を得る．
+	 * <p>
+	 * メモリマップした区間をByteBuffer.mismatchで比較します．<br>
+	 * foundが指定された場合は，見つけた位置をfoundの最小値として記録し，
+	 * より前の位置で差分が見つかっていれば比較を打ち切ります．
+	 * </p>
+	 * @since 1.2
+	 * @param channel1 ファイル1のチャネル
+	 * @param channel2 ファイル2のチャネル
+	 * @param from 区間の開始位置
+	 * @param to 区間の終了位置
+	 * @param found これまでに見つかった最小の位置，nullの場合は記録しない
+	 * @return 最初に異なる位置，同一または打ち切った場合は-1
+	 * @throws IOException
+	 */
+	private static long getMismatchOffset(FileChannel channel1, FileChannel channel2, long from, long to,
+			AtomicLong found) throws IOException {
+		for(long position=from;position<to;position+=MappedLineReader.WINDOW_SIZE){
+			if(found!=null && found.get()<position) return -1;
+			long length = Math.min(MappedLineReader.WINDOW_SIZE, to-position);
+			MappedByteBuffer window1 = channel1.map(FileChannel.MapMode.READ_ONLY, position, length);
+			MappedByteBuffer window2 = channel2.map(FileChannel.MapMode.READ_ONLY, position, length);
+			int i = window1.mismatch(window2);
+			if(i>=0){
+				long offset = position+i;
+				if(found!=null){
+					long current;
+					while(offset<(current=found.get()) && !found.compareAndSet(current, offset));
+				}
+				return offset;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * ファイルの先頭endバイトに含まれる改行(LF)の数を数える．
+	 * @since 1.2
+	 * @param channel 対象のチャネル
+	 * @param end 数える範囲の終了位置
+	 * @return 改行の数
+	 * @throws IOException
+	 */
+	private static long countLineFeed(FileChannel channel, long end) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(1<<16);
+		byte[] array = buf.array();
+		long count = 0;
+		long offset = 0;
+		while(offset<end){
+			buf.clear();
+			buf.limit((int)Math.min(buf.capacity(), end-offset));
+			int n = channel.read(buf, offset);
+			if(n<=0) break;
+			for(int i=0;i<n;i++){
+				if(array[i]=='\n') count++;
+			}
+			offset += n;
+		}
+		return count;
+	}
+
+	/**
+	 * 二つのファイルが最初に異なる位置．
+	 * @author T.Koike
+	 * @since 1.2
+	 * @see KoikeLibrary#findFileMismatch(String, String)
+	 */
+	public static final class FileMismatch {
+		private final long offset;
+		private final long lineNumber;
+
+		/**
+		 * 異なる位置を作成する．
+		 * @since 1.2
+		 * @param offset バイト位置
+		 * @param lineNumber 行番号
+		 */
+		FileMismatch(long offset, long lineNumber){
+			this.offset = offset;
+			this.lineNumber = lineNumber;
+		}
+
+		/**
+		 * 最初に異なるバイトの位置(0から始まる)を取得する．
+		 * @since 1.2
+		 * @return バイト位置
+		 */
+		public long getOffset(){
+			return offset;
+		}
+
+		/**
+		 * 最初に異なるバイトを含む行の番号(1から始まる)を取得する．
+		 * @since 1.2
+		 * @return 行番号
+		 */
+		public long getLineNumber(){
+			return lineNumber;
+		}
+
+		@Override
+		public String toString(){
+			return "offset="+offset+", line="+lineNumber;
+		}
+	}
+
+	/**
+	 * getMismatchOffsetの並列比較タスク．
+	 * <p>
+	 * 区間[lo,hi)を二分して再帰的に比較し，最も前の差分の位置を返します．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	@SuppressWarnings("serial")
+	private static class MismatchTask extends RecursiveTask<Long> {
+		private final FileChannel channel1;
+		private final FileChannel channel2;
+		private final long[] bounds;
+		private final int lo;
+		private final int hi;
+		private final AtomicLong found;
+
+		MismatchTask(FileChannel channel1, FileChannel channel2, long[] bounds, int lo, int hi, AtomicLong found){
+			this.channel1 = channel1;
+			this.channel2 = channel2;
+			this.bounds = bounds;
+			this.lo = lo;
+			this.hi = hi;
+			this.found = found;
+		}
+
+		@Override
+		protected Long compute(){
+			if(hi-lo>1){
+				int mid = (lo+hi)>>>1;
+				MismatchTask left = new MismatchTask(channel1, channel2, bounds, lo, mid, found);
+				MismatchTask right = new MismatchTask(channel1, channel2, bounds, mid, hi, found);
+				left.fork();
+				long r = right.compute();
+				long l = left.join();
+				return l>=0 ? l : r;
+			}
+			try {
+				return getMismatchOffset(channel1, channel2, bounds[lo], bounds[hi], found);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
 			}
 		}
-		br1.close();
-		br2.close();
-		return true;
 	}
 
 	/**
 	 * 二つのファイルが差分を出力します．
+	 * <p>
+	 * 1.2より，MyersのO(ND)差分アルゴリズムで行の挿入と削除を求め，
+	 * unified diff形式(前後3行の文脈付き)で標準出力へ出力します．<br>
+	 * 各行はint型のIDへ変換されてから比較されます．
+	 * IDの割り当ては64bitのハッシュ値で行い，ハッシュ値が一致した場合は行の文字列も比較するため，
+	 * 異なる種類の行の文字列を1つずつ保持します．<br>
+	 * 出力は両方のファイルを先頭から読み直しながら，ハンクごとに行います．
+	 * </p>
 	 * @since 1.0
 	 * @param path1 ファイル1のパス
 	 * @param path2 ファイル2のパス
 	 */
 	public static void printDiffFile(String path1, String path2){
+		printDiffFile(path1, path2, 3);
+	}
+
+	/**
+	 * 二つのファイルの差分を，文脈の行数を指定して出力します．
+	 * @since 1.2
+	 * @param path1 ファイル1のパス
+	 * @param path2 ファイル2のパス
+	 * @param context 差分の前後に出力する行数
+	 * @see #printDiffFile(String, String)
+	 */
+	public static void printDiffFile(String path1, String path2, int context){
+		printDiffFile(path1, path2, context, System.out);
+	}
+
+	/**
+	 * 二つのファイルの差分を，指定した出力先へunified diff形式で出力します．
+	 * @since 1.2
+	 * @param path1 ファイル1のパス
+	 * @param path2 ファイル2のパス
+	 * @param context 差分の前後に出力する行数
+	 * @param out 出力先
+	 * @see #printDiffFile(String, String)
+	 */
+	public static void printDiffFile(String path1, String path2, int context, PrintStream out){
+		LineIdMap ids = new LineIdMap();
+		int[] x = readLineIds(path1, ids);
+		int[] y = readLineIds(path2, ids);
+		if(x==null || y==null) return;
+		MyersDiff diff = new MyersDiff(x, y);
+		diff.compare();
+		boolean[] changedX = diff.changedX;
+		boolean[] changedY = diff.changedY;
+		int n = x.length;
+		int m = y.length;
+
 		MyBufferedReader br1 = new MyBufferedReader(path1);
-		List<String> file1 = br1.readAllLine();
 		MyBufferedReader br2 = new MyBufferedReader(path2);
-		List<String> file2 = br2.readAllLine();
-		int size = file1.size()>file2.size()?file1.size():file2.size();
-		int min = file1.size()<file2.size()?file1.size():file2.size();
-		for(int i=0;i<size;i++){
-			if(i>=min){
-				System.err.println("一方のファイルが終端になりました．");
-				break;
+		int read1 = 0;
+		int read2 = 0;
+		boolean header = false;
+		int i = 0;
+		int j = 0;
+		int endX = 0;
+		while(true){
+			// 次の変更ブロックの先頭まで進める
+			while(i<n && j<m && !changedX[i] && !changedY[j]){
+				i++;
+				j++;
 			}
-			if(!file1.get(i).equals(file2.get(i))){
-				System.out.println(i+"\t : "+file1.get(i)+"<==>"+file2.get(i));
+			if(i>=n && j>=m) break;
+			// ハンクの範囲を決める
+			int pre = Math.min(context, i-endX);
+			int startX = i-pre;
+			int startY = j-pre;
+			int hunkEndX;
+			int hunkEndY;
+			while(true){
+				while(i<n && changedX[i]) i++;
+				while(j<m && changedY[j]) j++;
+				int common = 0;
+				while(i+common<n && j+common<m && !changedX[i+common] && !changedY[j+common]) common++;
+				if(i+common>=n && j+common>=m || common>2*context){
+					int post = Math.min(context, common);
+					hunkEndX = i+post;
+					hunkEndY = j+post;
+					i += common;
+					j += common;
+					endX = hunkEndX;
+					break;
+				}
+				i += common;
+				j += common;
+			}
+			if(!header){
+				out.println("--- "+path1);
+				out.println("+++ "+path2);
+				header = true;
+			}
+			out.println("@@ -"+getHunkRange(startX, hunkEndX-startX)+" +"+getHunkRange(startY, hunkEndY-startY)+" @@");
+			for(;read1<startX;read1++) br1.readLine();
+			for(;read2<startY;read2++) br2.readLine();
+			while(read1<hunkEndX || read2<hunkEndY){
+				if(read1<hunkEndX && changedX[read1]){
+					out.println("-"+br1.readLine());
+					read1++;
+				}
+				else if(read2<hunkEndY && changedY[read2]){
+					out.println("+"+br2.readLine());
+					read2++;
+				}
+				else{
+					out.println(" "+br1.readLine());
+					br2.readLine();
+					read1++;
+					read2++;
+				}
 			}
 		}
 		br1.close();
@@ -1216,6 +7942,259 @@ public class KoikeLibrary {
 		return;
 	}
 
+	/**
+	 * unified diff形式のハンクの範囲を得る．
+	 * @since 1.2
+	 * @param start 開始行(0から始まる)
+	 * @param length 行数
+	 * @return 範囲を表す文字列
+	 */
+	private static String getHunkRange(int start, int length){
+		if(length==1) return String.valueOf(start+1);
+		return (length==0 ? start : start+1)+","+length;
+	}
+
+	/**
+	 * ファイルの各行をIDへ変換する．
+	 * <p>
+	 * 文字列が同じ行は同じIDになります．
+	 * </p>
+	 * @since 1.2
+	 * @param path ファイルパス
+	 * @param ids 行からIDへの表
+	 * @return 各行のID，読み込めなかった場合はnull
+	 */
+	private static int[] readLineIds(String path, LineIdMap ids){
+		if(!new File(path).isFile()){
+			System.err.println("指定されたファイルが見つかりませんでした．");
+			return null;
+		}
+		MyBufferedReader br = new MyBufferedReader(path);
+		int[] res = new int[1024];
+		int size = 0;
+		String line;
+		while((line=br.readLine())!=null){
+			if(size==res.length) res = Arrays.copyOf(res, size*2);
+			res[size++] = ids.intern(fnv1a64(line), line);
+		}
+		br.close();
+		return Arrays.copyOf(res, size);
+	}
+
+	/**
+	 * MyersのO(ND)差分アルゴリズム．
+	 * <p>
+	 * 両端の共通部分を除いた上で，中央のスネークによる分割統治(線形空間版)により
+	 * 最短編集スクリプトを求め，削除された行と挿入された行に印を付けます．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	private static final class MyersDiff {
+		private final int[] x;
+		private final int[] y;
+		/** ファイル1で削除された行 */
+		final boolean[] changedX;
+		/** ファイル2で挿入された行 */
+		final boolean[] changedY;
+		/** 前方探索と後方探索の対角線ごとの到達位置 */
+		private final int[] fd;
+		private final int[] bd;
+		private final int offset;
+		private int midX;
+		private int midY;
+
+		MyersDiff(int[] x, int[] y){
+			this.x = x;
+			this.y = y;
+			this.changedX = new boolean[x.length];
+			this.changedY = new boolean[y.length];
+			this.fd = new int[x.length+y.length+3];
+			this.bd = new int[x.length+y.length+3];
+			this.offset = y.length+1;
+		}
+
+		/**
+		 * 全体の差分を求める．
+		 * @since 1.2
+		 */
+		void compare(){
+			compare(0, x.length, 0, y.length);
+		}
+
+		/**
+		 * x[xoff,xlim)とy[yoff,ylim)の差分を求める．
+		 * @since 1.2
+		 */
+		private void compare(int xoff, int xlim, int yoff, int ylim){
+			while(true){
+				while(xoff<xlim && yoff<ylim && x[xoff]==y[yoff]){
+					xoff++;
+					yoff++;
+				}
+				while(xoff<xlim && yoff<ylim && x[xlim-1]==y[ylim-1]){
+					xlim--;
+					ylim--;
+				}
+				if(xoff==xlim){
+					for(int k=yoff;k<ylim;k++) changedY[k] = true;
+					return;
+				}
+				if(yoff==ylim){
+					for(int k=xoff;k<xlim;k++) changedX[k] = true;
+					return;
+				}
+				findMiddleSnake(xoff, xlim, yoff, ylim);
+				int xmid = midX;
+				int ymid = midY;
+				compare(xoff, xmid, yoff, ymid);
+				xoff = xmid;
+				yoff = ymid;
+			}
+		}
+
+		/**
+		 * 前方と後方から同時に探索し，最短編集経路の中央の点(midX,midY)を求める．
+		 * @since 1.2
+		 */
+		private void findMiddleSnake(int xoff, int xlim, int yoff, int ylim){
+			int dmin = xoff-ylim;
+			int dmax = xlim-yoff;
+			int fmid = xoff-yoff;
+			int bmid = xlim-ylim;
+			int fmin = fmid;
+			int fmax = fmid;
+			int bmin = bmid;
+			int bmax = bmid;
+			boolean odd = ((fmid-bmid) & 1)!=0;
+			fd[offset+fmid] = xoff;
+			bd[offset+bmid] = xlim;
+			while(true){
+				if(fmin>dmin) fd[offset+(--fmin)-1] = -1;
+				else fmin++;
+				if(fmax<dmax) fd[offset+(++fmax)+1] = -1;
+				else fmax--;
+				for(int d=fmax;d>=fmin;d-=2){
+					int tlo = fd[offset+d-1];
+					int thi = fd[offset+d+1];
+					int px = tlo>=thi ? tlo+1 : thi;
+					int py = px-d;
+					while(px<xlim && py<ylim && x[px]==y[py]){
+						px++;
+						py++;
+					}
+					fd[offset+d] = px;
+					if(odd && bmin<=d && d<=bmax && bd[offset+d]<=px){
+						midX = px;
+						midY = py;
+						return;
+					}
+				}
+				if(bmin>dmin) bd[offset+(--bmin)-1] = Integer.MAX_VALUE;
+				else bmin++;
+				if(bmax<dmax) bd[offset+(++bmax)+1] = Integer.MAX_VALUE;
+				else bmax--;
+				for(int d=bmax;d>=bmin;d-=2){
+					int tlo = bd[offset+d-1];
+					int thi = bd[offset+d+1];
+					int px = tlo<thi ? tlo : thi-1;
+					int py = px-d;
+					while(xoff<px && yoff<py && x[px-1]==y[py-1]){
+						px--;
+						py--;
+					}
+					bd[offset+d] = px;
+					if(!odd && fmin<=d && d<=fmax && px<=fd[offset+d]){
+						midX = px;
+						midY = py;
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * 文字列の64bitのFNV-1aハッシュ値を得る．
+	 * @since 1.2
+	 * @param str 文字列
+	 * @return ハッシュ値
+	 */
+	private static long fnv1a64(CharSequence str){
+		long h = 0xcbf29ce484222325L;
+		for(int i=0, len=str.length();i<len;i++){
+			h ^= str.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return h;
+	}
+
+	/**
+	 * 行からintへのオープンアドレス法によるハッシュ表．
+	 * <p>
+	 * 行に対して追加順の連番(0から始まる)をIDとして割り当てます．<br>
+	 * 64bitのハッシュ値で探索し，ハッシュ値が一致した場合は文字列も比較します．
+	 * </p>
+	 * @author T.Koike
+	 * @since 1.2
+	 */
+	private static final class LineIdMap {
+		private long[] keys = new long[1024];
+		/** ID+1，0は空きを表す */
+		private int[] values = new int[1024];
+		/** IDごとの行 */
+		private String[] lines = new String[512];
+		private int size;
+
+		/**
+		 * 行のIDを得る．未登録の場合は新しいIDを割り当てる．
+		 * @since 1.2
+		 * @param key 行のハッシュ値
+		 * @param line 行
+		 * @return ID
+		 */
+		int intern(long key, String line){
+			int mask = keys.length-1;
+			int i = mix(key) & mask;
+			while(values[i]!=0){
+				if(keys[i]==key && lines[values[i]-1].equals(line)) return values[i]-1;
+				i = (i+1) & mask;
+			}
+			if(size==lines.length) lines = Arrays.copyOf(lines, size*2);
+			lines[size] = line;
+			keys[i] = key;
+			values[i] = ++size;
+			if(size*2>keys.length) rehash();
+			return size-1;
+		}
+
+		/**
+		 * 表の大きさを2倍にする．
+		 * @since 1.2
+		 */
+		private void rehash(){
+			long[] oldKeys = keys;
+			int[] oldValues = values;
+			keys = new long[oldKeys.length*2];
+			values = new int[oldValues.length*2];
+			int mask = keys.length-1;
+			for(int k=0;k<oldKeys.length;k++){
+				if(oldValues[k]==0) continue;
+				int i = mix(oldKeys[k]) & mask;
+				while(values[i]!=0) i = (i+1) & mask;
+				keys[i] = oldKeys[k];
+				values[i] = oldValues[k];
+			}
+		}
+
+		private static int mix(long key){
+			key ^= key>>>33;
+			key *= 0xff51afd7ed558ccdL;
+			key ^= key>>>33;
+			return (int)key;
+		}
+	}
+
 	/*――――――――――――――――――――――――――――――
 	 * 変換また取得系
 	 * ――――――――――――――――――――――――――――――*/
@@ -1291,6 +8270,61 @@ public class KoikeLibrary {
 		return result;
 	}
 
+	/**
+	 * String型Streamの要素をIntStreamに変換して取得する．
+	 * <p>
+	 * 要素は遅延して変換されるため，使用メモリは一定です．
+	 * </p>
+	 * @since 1.2
+	 * @param lines String型Stream
+	 * @return IntStream
+	 */
+	public static IntStream getIntStreamFromString(Stream<String> lines) {
+		return lines.mapToInt(new ToIntFunction<String>(){
+			public int applyAsInt(String str){
+				return Integer.parseInt(str);
+			}
+		});
+	}
+
+	/**
+	 * String型Streamの要素をデリミタで分割し，インデックス番目をIntStreamに変換して取得する．
+	 * <p>
+	 * 要素は遅延して変換されるため，使用メモリは一定です．
+	 * </p>
+	 * @since 1.2
+	 * @param lines 対象のString型Stream
+	 * @param delimiter デリミタ
+	 * @param index 取得番地
+	 * @return IntStream
+	 */
+	public static IntStream getIntStreamFromString(Stream<String> lines, final String delimiter, final int index) {
+		return lines.mapToInt(new ToIntFunction<String>(){
+			public int applyAsInt(String str){
+				return Integer.parseInt(str.split(delimiter)[index]);
+			}
+		});
+	}
+
+	/**
+	 * String型Streamの要素をデリミタで分割し，インデックス番目をDoubleStreamに変換して取得する．
+	 * <p>
+	 * 要素は遅延して変換されるため，使用メモリは一定です．
+	 * </p>
+	 * @since 1.2
+	 * @param lines 対象のString型Stream
+	 * @param delimiter デリミタ
+	 * @param index 取得番地
+	 * @return DoubleStream
+	 */
+	public static DoubleStream getDoubleStreamFromString(Stream<String> lines, final String delimiter, final int index) {
+		return lines.mapToDouble(new ToDoubleFunction<String>(){
+			public double applyAsDouble(String str){
+				return KoikeLibrary.parseDouble(str.split(delimiter)[index]);
+			}
+		});
+	}
+
 	/**
 	 * String型リストの要素をデリミタで分割し，インデックス番目をDoubleでリストにまとめて取得する．
 	 * @since 1.1
@@ -1303,7 +8337,7 @@ public class KoikeLibrary {
 		List<Double> result = new ArrayList<Double>();
 		for(String str : list){
 			String[] split = str.split(delimiter);
-			result.add(Double.parseDouble(split[index]));
+			result.add(KoikeLibrary.parseDouble(split[index]));
 		}
 		return result;
 	}
@@ -1326,6 +8360,7 @@ public class KoikeLibrary {
 	 * @since 1.1
 	 * @param list Integer型リスト
 	 * @return Double型リスト
+	 * @see NumericKernels#toDoubleArray(int[])
 	 */
 	public static List<Double> getConvertDoubleList(List<Integer> list){
 		List<Double> result = new ArrayList<Double>();
@@ -0,0 +1,104 @@
+package com.lanevok;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * FastPrinter.writeDoubleの検査．
+ * <p>
+ * 乱数で生成したdouble値について，writeDouble(double)とwriteDouble(double, int)の出力を検査します．<br>
+ * 基準はJava 19以降のDouble.toStringとString.formatで，実行中のJavaのDouble.toStringと一致する値は
+ * Double.toStringとString.format("%.nf")の出力に一致することを確認します．<br>
+ * Java 18以前のDouble.toStringが最短でない桁を返す値(例えば1e23の"9.999999999999999E22")は，
+ * 出力が元の値に戻る最短の10進表記であることと，その桁の四捨五入がBigDecimalと一致することを確認します．<br>
+ * 変換処理を変更した場合は，以下のように実行して確認してください．<br>
+ * javac -encoding UTF-8 -d out KoikeLibrary.java test/com/lanevok/FastPrinterCheck.java<br>
+ * java -cp out com.lanevok.FastPrinterCheck [件数(既定1000000)] [シード]<br>
+ * 不一致があった場合は内容を出力し，終了コード1で終了します．
+ * </p>
+ * @author T.Koike
+ * @since 1.2
+ */
+public class FastPrinterCheck {
+
+	/** 境界的な値 */
+	private static final double[] SAMPLES = {
+		0.0, -0.0, 1e7, 1e-3, Math.nextDown(1e-3), Math.nextDown(1e7), 1e22, 1e23, Double.MIN_VALUE, 2*Double.MIN_VALUE,
+		20*Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, 2.82879384806159E17, 1.615, 24.255, -84.615, 29.005,
+		6.176192518432428E19, 0.5, 2.5, -0.001, 9.995, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+	};
+
+	public static void main(String[] args){
+		long count = args.length>0 ? Long.parseLong(args[0]) : 1000000L;
+		long seed = args.length>1 ? Long.parseLong(args[1]) : System.nanoTime();
+		Random random = new Random(seed);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		KoikeLibrary.FastPrinter printer = new KoikeLibrary.FastPrinter(bytes);
+		long failed = 0;
+		for(long n=-SAMPLES.length;n<count;n++){
+			double v;
+			if(n<0) v = SAMPLES[(int)(n+SAMPLES.length)];
+			else switch(random.nextInt(4)){
+			case 0:
+				v = Double.longBitsToDouble(random.nextLong());
+				break;
+			case 1:
+				v = (random.nextDouble()-0.5)*Math.pow(10, random.nextInt(40)-20);
+				break;
+			case 2:
+				v = (random.nextInt(2000001)-1000000)/Math.pow(10, random.nextInt(6));
+				break;
+			default:
+				v = Double.longBitsToDouble(random.nextLong()>>>(12+random.nextInt(52)));
+			}
+			int digits = n<0 ? 2 : random.nextInt(random.nextBoolean() ? 8 : 30);
+			printer.writeDouble(v);
+			printer.flush();
+			String shortest = bytes.toString();
+			bytes.reset();
+			printer.writeDouble(v, digits);
+			printer.flush();
+			String fixed = bytes.toString();
+			bytes.reset();
+			String expected = Double.toString(v);
+			boolean ok;
+			if(shortest.equals(expected)){
+				ok = fixed.equals(String.format("%."+digits+"f", v));
+			}
+			else{
+				ok = isShorterDecimal(v, shortest, expected);
+				if(ok){
+					String sign = Double.doubleToRawLongBits(v)<0 ? "-" : "";
+					BigDecimal decimal = new BigDecimal(sign.isEmpty() ? shortest : shortest.substring(1));
+					ok = fixed.equals(sign+decimal.setScale(digits, RoundingMode.HALF_UP).toPlainString());
+				}
+			}
+			if(!ok && failed++<20){
+				System.err.println("不一致: "+expected+" -> "+shortest+", %."+digits+"f -> "+fixed);
+			}
+		}
+		System.out.println("seed="+seed+" count="+count+" failed="+failed);
+		if(failed>0) System.exit(1);
+	}
+
+	/**
+	 * 10進表記shortestがvに戻り，otherより短いか，同じ長さでvに近いかを判定する．
+	 * <p>
+	 * Java 19以降のDouble.toStringと同様に，1桁の表記は2桁の表記と同じ長さとみなします．
+	 * </p>
+	 * @since 1.2
+	 */
+	private static boolean isShorterDecimal(double v, String shortest, String other){
+		if(Double.isNaN(v) || Double.isInfinite(v)) return false;
+		if(Double.doubleToRawLongBits(Double.parseDouble(shortest))!=Double.doubleToRawLongBits(v)) return false;
+		BigDecimal a = new BigDecimal(shortest);
+		BigDecimal b = new BigDecimal(other);
+		int length = Math.max(a.stripTrailingZeros().precision(), 2);
+		int otherLength = Math.max(b.stripTrailingZeros().precision(), 2);
+		if(length!=otherLength) return length<otherLength;
+		BigDecimal exact = new BigDecimal(v);
+		return a.subtract(exact).abs().compareTo(b.subtract(exact).abs())<=0;
+	}
+}
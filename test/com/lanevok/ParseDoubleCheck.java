@@ -0,0 +1,164 @@
+package com.lanevok;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * KoikeLibrary.parseDoubleとFastScannerのdouble変換の検査．
+ * <p>
+ * 乱数で生成した文字列と境界的な文字列について，変換結果とスローされる例外が
+ * Double.parseDoubleとビット単位で一致するかを検査します．<br>
+ * 変換処理を変更した場合は，以下のように実行して確認してください．<br>
+ * javac -encoding UTF-8 -d out KoikeLibrary.java test/com/lanevok/ParseDoubleCheck.java<br>
+ * java -cp out com.lanevok.ParseDoubleCheck [件数(既定10000000)] [シード]<br>
+ * 不一致があった場合は内容を出力し，終了コード1で終了します．
+ * </p>
+ * @author T.Koike
+ * @since 1.2
+ */
+public class ParseDoubleCheck {
+
+	/** 境界的な文字列 */
+	private static final String[] SAMPLES = {
+		"", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", "--1", "1e5x", " 1.5", "1.5 ", "NaN", "-Infinity",
+		"0x1.8p1", "1d", "1f", "00000.00000", "-0", "0e-400", "1e400", "4.9e-324", "2.4703282292062328e-324",
+		"1e2147483647", "1e2147483648", "1e-2147483648", "1e99999999999999999999", "1e-99999999999999999999",
+		"0."+repeat('0', 100000)+"1e1000000000",
+		"0."+repeat('0', 100000)+"1e100000",
+		"1"+repeat('0', 100000)+"e-1000000000",
+		"1"+repeat('0', 100000)+"e-100300",
+		"0."+repeat('0', 1000)+"1e1308",
+		"9"+repeat('9', 400)+"e-400",
+	};
+
+	public static void main(String[] args){
+		long count = args.length>0 ? Long.parseLong(args[0]) : 10000000L;
+		long seed = args.length>1 ? Long.parseLong(args[1]) : System.nanoTime();
+		long failed = 0;
+		for(String str : SAMPLES){
+			if(!isSameAsParseDouble(str)) failed = report(str, failed);
+		}
+		Random random = new Random(seed);
+		for(long n=0;n<count;n++){
+			String str = randomDoubleString(random);
+			if(!isSameAsParseDouble(str)) failed = report(str, failed);
+		}
+		System.out.println("seed="+seed+" count="+count+" failed="+failed);
+		if(failed>0) System.exit(1);
+	}
+
+	/**
+	 * 不一致を出力する．
+	 * @since 1.2
+	 */
+	private static long report(String str, long failed){
+		if(failed<20) System.err.println("不一致: \""+(str.length()>80 ? str.substring(0, 40)+"..."+str.substring(str.length()-40) : str)+"\"");
+		return failed+1;
+	}
+
+	/**
+	 * 文字列について，parseDoubleとFastScanner.nextDoubleの結果と例外がDouble.parseDoubleと一致するかを判定する．
+	 * <p>
+	 * FastScannerは空白で区切るため，空白を含む文字列と空文字列はparseDoubleのみ検査します．
+	 * </p>
+	 * @since 1.2
+	 */
+	private static boolean isSameAsParseDouble(String str){
+		boolean scan = !str.isEmpty() && str.indexOf(' ')<0;
+		long expected;
+		try{
+			expected = Double.doubleToRawLongBits(Double.parseDouble(str));
+		}catch(NumberFormatException e){
+			try{
+				KoikeLibrary.parseDouble(str);
+				return false;
+			}catch(NumberFormatException e1){
+			}
+			if(!scan) return true;
+			try{
+				scan(str);
+				return false;
+			}catch(NumberFormatException e2){
+			}
+			return true;
+		}
+		try{
+			return Double.doubleToRawLongBits(KoikeLibrary.parseDouble(str))==expected
+				&& (!scan || Double.doubleToRawLongBits(scan(str))==expected);
+		}catch(NumberFormatException e){
+			return false;
+		}
+	}
+
+	/**
+	 * FastScannerでバイト列から変換する．
+	 * @since 1.2
+	 */
+	@SuppressWarnings("deprecation")
+	private static double scan(String str){
+		byte[] b = str.getBytes(StandardCharsets.UTF_8);
+		return new KoikeLibrary.FastScanner(new ByteArrayInputStream(b), 64).nextDouble();
+	}
+
+	/**
+	 * 検査用の文字列を生成する．
+	 * <p>
+	 * 任意のdouble値の最短表記，ランダムな桁列と指数部，19桁を超える仮数部，
+	 * 隣接するdouble値のちょうど中間，非正規化数と境界付近，不正な表記を生成します．
+	 * </p>
+	 * @since 1.2
+	 */
+	private static String randomDoubleString(Random random){
+		switch(random.nextInt(8)){
+		case 0:
+			return Double.toString(Double.longBitsToDouble(random.nextLong()));
+		case 1:
+			return Double.toString(random.nextDouble()*Math.pow(10, random.nextInt(40)-20));
+		case 2:
+		case 3:{
+			StringBuilder sb = new StringBuilder();
+			if(random.nextBoolean()) sb.append(random.nextBoolean() ? '-' : '+');
+			int length = 1+random.nextInt(random.nextBoolean() ? 19 : 40);
+			int dot = random.nextInt(length+2)-1;
+			for(int i=0;i<length;i++){
+				if(i==dot) sb.append('.');
+				sb.append((char)('0'+random.nextInt(10)));
+			}
+			if(random.nextBoolean()){
+				sb.append(random.nextBoolean() ? 'e' : 'E');
+				if(random.nextBoolean()) sb.append(random.nextBoolean() ? '-' : '+');
+				sb.append(random.nextInt(random.nextBoolean() ? 30 : 400));
+			}
+			return sb.toString();
+		}
+		case 4:{
+			double d = Double.longBitsToDouble(random.nextLong()&0x7FFFFFFFFFFFFFFFL);
+			if(Double.isNaN(d) || d>=Double.MAX_VALUE) d = Math.nextDown(Double.MAX_VALUE);
+			BigDecimal mid = new BigDecimal(d).add(new BigDecimal(Math.nextUp(d))).divide(BigDecimal.valueOf(2));
+			return random.nextBoolean() ? mid.toString() : mid.round(new MathContext(17+random.nextInt(10))).toString();
+		}
+		case 5:{
+			double d = random.nextBoolean() ? Double.MIN_NORMAL*random.nextDouble()*4 : Double.MAX_VALUE*(1-random.nextDouble()*1e-3);
+			return new BigDecimal(d).round(new MathContext(1+random.nextInt(25))).toString();
+		}
+		case 6:
+			return Long.toString(random.nextLong()>>random.nextInt(64));
+		default:
+			return SAMPLES[random.nextInt(SAMPLES.length-6)];
+		}
+	}
+
+	/**
+	 * 文字を指定回数繰り返した文字列を作成する．
+	 * @since 1.2
+	 */
+	private static String repeat(char c, int n){
+		char[] a = new char[n];
+		Arrays.fill(a, c);
+		return new String(a);
+	}
+}